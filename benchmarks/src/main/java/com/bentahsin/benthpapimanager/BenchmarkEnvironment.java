@@ -0,0 +1,225 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.Placeholder;
+import com.bentahsin.benthpapimanager.annotations.PlaceholderIdentifier;
+import com.bentahsin.benthpapimanager.annotations.RelationalPlaceholder;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sunucu olmadan {@link DynamicExpansion} çalıştırmak için hafif Bukkit yerine geçenler.
+ * <p>
+ * Sunucu, oyuncu ve zamanlayıcı {@link Proxy} ile oluşturulur. Zamanlanmış tekrar eden görevler
+ * hiç çalıştırılmaz; önbellek temizliği gibi işler ölçümlerde doğrudan çağrılır.
+ * {@link JavaPlugin} ise Bukkit'in test amaçlı korumalı constructor'ı ile oluşturulur.
+ */
+final class BenchmarkEnvironment {
+    private static final Logger LOGGER = Logger.getLogger("Benchmark");
+    private static final Map<UUID, Player> ONLINE = new ConcurrentHashMap<>();
+    private static Server server;
+
+    static {
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    private BenchmarkEnvironment() {
+    }
+
+    static synchronized Server server() {
+        if (server == null) {
+            BukkitScheduler scheduler = proxy(BukkitScheduler.class, (p, method, args) -> {
+                switch (method.getName()) {
+                    case "runTask":
+                        ((Runnable) args[1]).run();
+                        return idleTask();
+                    case "runTaskAsynchronously":
+                        ForkJoinPool.commonPool().execute((Runnable) args[1]);
+                        return idleTask();
+                    default:
+                        return method.getReturnType() == BukkitTask.class ? idleTask() : defaultValue(method);
+                }
+            });
+            PluginManager pluginManager = proxy(PluginManager.class, (p, method, args) -> defaultValue(method));
+            Collection<Player> online = ONLINE.values();
+            server = proxy(Server.class, (p, method, args) -> {
+                switch (method.getName()) {
+                    case "getScheduler":
+                        return scheduler;
+                    case "getPluginManager":
+                        return pluginManager;
+                    case "getLogger":
+                        return LOGGER;
+                    case "getOnlinePlayers":
+                        return online;
+                    case "getPlayer":
+                        return args[0] instanceof UUID ? ONLINE.get(args[0]) : null;
+                    case "getName":
+                    case "getVersion":
+                    case "getBukkitVersion":
+                        return "Benchmark";
+                    default:
+                        return defaultValue(method);
+                }
+            });
+            Bukkit.setServer(server);
+        }
+        return server;
+    }
+
+    static JavaPlugin plugin() {
+        return new BenchmarkPlugin(server());
+    }
+
+    /**
+     * Çevrimiçi, tüm yetkilere sahip ve tek bir dünyada bulunan bir oyuncu oluşturur.
+     */
+    static Player player(String name) {
+        UUID id = UUID.nameUUIDFromBytes(name.getBytes());
+        World world = proxy(World.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "world";
+                case "getUID":
+                    return new UUID(0L, 1L);
+                default:
+                    return defaultValue(method);
+            }
+        });
+        Player[] self = new Player[1];
+        self[0] = proxy(Player.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                case "toString":
+                    return name;
+                case "getUniqueId":
+                    return id;
+                case "isOnline":
+                    return ONLINE.containsKey(id);
+                case "getPlayer":
+                    return self[0];
+                case "hasPermission":
+                    return true;
+                case "getWorld":
+                    return world;
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return p == args[0];
+                default:
+                    return defaultValue(method);
+            }
+        });
+        ONLINE.put(id, self[0]);
+        return self[0];
+    }
+
+    /**
+     * Bir placeholder sınıfının metotlarını, yöneticinin kayıt sırasında yaptığı gibi çözümler.
+     * @return Standart ve ilişkisel metotlar; anahtarlar tanımlayıcılardır.
+     */
+    static Fixture fixture(Object instance) {
+        return fixture(instance, Collections.emptyMap());
+    }
+
+    /**
+     * @param aliases Ek tanımlayıcı -> aynı sınıftaki mevcut bir standart tanımlayıcı eşlemesi.
+     *                Dağıtım indeksi yapıcıda kurulduğu için takma adlar önceden verilmelidir.
+     */
+    static Fixture fixture(Object instance, Map<String, String> aliases) {
+        Map<String, PlaceholderMethod> standard = new HashMap<>();
+        Map<String, PlaceholderMethod> relational = new HashMap<>();
+        MiddlewareRegistry middlewares = new MiddlewareRegistry(LOGGER);
+        for (Method method : instance.getClass().getMethods()) {
+            if (method.isAnnotationPresent(PlaceholderIdentifier.class)) {
+                PlaceholderMethod pMethod = new PlaceholderMethod(method, instance, false, 0, middlewares);
+                standard.put(pMethod.identifier, pMethod);
+            }
+            if (method.isAnnotationPresent(RelationalPlaceholder.class)) {
+                PlaceholderMethod pMethod = new PlaceholderMethod(method, instance, true, 0, middlewares);
+                relational.put(pMethod.identifier, pMethod);
+            }
+        }
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            standard.put(alias.getKey(), standard.get(alias.getValue()));
+        }
+        return new Fixture(instance.getClass().getAnnotation(Placeholder.class), standard, relational);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BenchmarkEnvironment.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static BukkitTask idleTask() {
+        return proxy(BukkitTask.class, (p, method, args) -> defaultValue(method));
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+
+    /**
+     * Tek bir {@link DynamicExpansion} ve ona ait yürütücü, saat ve önbellek sınırları.
+     */
+    static final class Fixture {
+        final JavaPlugin plugin = plugin();
+        final TickClock clock = new TickClock();
+        final AsyncExecutor executor = new AsyncExecutor(LOGGER, "Benchmark", 2, 256);
+        final Map<String, PlaceholderMethod> standard;
+        final Map<String, PlaceholderMethod> relational;
+        final DynamicExpansion expansion;
+
+        private Fixture(Placeholder info, Map<String, PlaceholderMethod> standard, Map<String, PlaceholderMethod> relational) {
+            this.standard = standard;
+            this.relational = relational;
+            CacheLimits limits = new CacheLimits(false, 0L, 0L, 1024, new AtomicLong());
+            this.expansion = new DynamicExpansion(plugin, info, standard, relational, "error", null, limits, clock, executor, null, null, null);
+        }
+
+        void close() {
+            expansion.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static final class BenchmarkPlugin extends JavaPlugin {
+        BenchmarkPlugin(Server server) {
+            super(new JavaPluginLoader(server), new PluginDescriptionFile("Benchmark", "1.0", BenchmarkPlugin.class.getName()),
+                    new File(System.getProperty("java.io.tmpdir"), "benth-papi-benchmark"), new File("benchmark.jar"));
+        }
+    }
+}
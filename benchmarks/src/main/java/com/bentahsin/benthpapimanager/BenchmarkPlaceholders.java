@@ -0,0 +1,69 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.Cache;
+import com.bentahsin.benthpapimanager.annotations.Middleware;
+import com.bentahsin.benthpapimanager.annotations.Placeholder;
+import com.bentahsin.benthpapimanager.annotations.PlaceholderIdentifier;
+import com.bentahsin.benthpapimanager.annotations.RelationalPlaceholder;
+import com.bentahsin.benthpapimanager.middleware.PlaceholderMiddleware;
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ölçümlerde kullanılan placeholder'lar. Metotlar bilerek ucuzdur; ölçülen şey kütüphanenin
+ * dağıtım, önbellek ve middleware maliyetidir.
+ */
+@Placeholder(identifier = "bench", author = "benchmark", version = "1.0")
+public class BenchmarkPlaceholders {
+
+    @PlaceholderIdentifier(identifier = "cached")
+    @Cache(duration = 1, unit = TimeUnit.HOURS)
+    public String cached(Player player) {
+        return player.getName();
+    }
+
+    @PlaceholderIdentifier(identifier = "uncached")
+    public String uncached(Player player) {
+        return player.getName();
+    }
+
+    @PlaceholderIdentifier(identifier = "stat")
+    @Cache(duration = 1, unit = TimeUnit.HOURS)
+    public String stat(Player player, String argument) {
+        return argument;
+    }
+
+    @PlaceholderIdentifier(identifier = "formatted")
+    @Middleware({Trim.class, Upper.class, Brackets.class})
+    public String formatted(Player player) {
+        return " " + player.getName() + " ";
+    }
+
+    @RelationalPlaceholder(identifier = "pair")
+    @Cache(duration = 1, unit = TimeUnit.HOURS)
+    public String pair(Player one, Player two) {
+        return two.getName();
+    }
+
+    public static final class Trim implements PlaceholderMiddleware {
+        @Override
+        public String process(Object input) {
+            return String.valueOf(input).trim();
+        }
+    }
+
+    public static final class Upper implements PlaceholderMiddleware {
+        @Override
+        public String process(Object input) {
+            return String.valueOf(input).toUpperCase();
+        }
+    }
+
+    public static final class Brackets implements PlaceholderMiddleware {
+        @Override
+        public String process(Object input) {
+            return "[" + input + "]";
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bentahsin.benthpapimanager;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ölçümleri, her sonuçta işlem/saniye yanında tahsis oranı da raporlanacak şekilde çalıştırır.
+ * Komut satırı argümanları JMH'ninkilerle aynıdır (örn. {@code java -jar benchmarks.jar Dispatch -rf json}).
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Önbellek isabeti ile önbelleksiz (her istekte metodu çalıştıran) yolun karşılaştırması.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+    private static final int ARGUMENTS = 64;
+
+    private BenchmarkEnvironment.Fixture fixture;
+    private Player player;
+    private final String[] arguments = new String[ARGUMENTS];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        fixture = BenchmarkEnvironment.fixture(new BenchmarkPlaceholders());
+        player = BenchmarkEnvironment.player("cache");
+        for (int i = 0; i < ARGUMENTS; i++) {
+            arguments[i] = "stat_kills" + i;
+            fixture.expansion.onRequest(player, arguments[i]);
+        }
+        fixture.expansion.onRequest(player, "cached");
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String hit() {
+        return fixture.expansion.onRequest(player, "cached");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String hitContended() {
+        return fixture.expansion.onRequest(player, "cached");
+    }
+
+    @Benchmark
+    public String hitWithArgument() {
+        return fixture.expansion.onRequest(player, arguments[cursor++ & (ARGUMENTS - 1)]);
+    }
+
+    @Benchmark
+    public String miss() {
+        return fixture.expansion.onRequest(player, "uncached");
+    }
+}
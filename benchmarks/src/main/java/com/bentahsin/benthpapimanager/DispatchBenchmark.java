@@ -0,0 +1,83 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grup içindeki tanımlayıcı sayısına göre {@link DynamicExpansion#onRequest} dağıtım maliyeti.
+ * <p>
+ * Ek tanımlayıcılar önbellekli tek bir metoda bağlanır; böylece ölçülen fark yalnızca indeks
+ * aramasından gelir. İstekler tüm tanımlayıcılar arasında döner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"5", "50", "500"})
+    int identifiers;
+
+    private BenchmarkEnvironment.Fixture fixture;
+    private Player player;
+    private String[] params;
+    private int mask;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> aliases = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < identifiers; i++) {
+            String key = "stat" + i + "_total";
+            aliases.put(key, "cached");
+            keys.add(key);
+        }
+        fixture = BenchmarkEnvironment.fixture(new BenchmarkPlaceholders(), aliases);
+        player = BenchmarkEnvironment.player("dispatch");
+
+        int size = Integer.highestOneBit(keys.size() * 2 - 1);
+        params = new String[size];
+        for (int i = 0; i < size; i++) {
+            params[i] = keys.get(i % keys.size());
+        }
+        mask = size - 1;
+        for (String param : params) {
+            fixture.expansion.onRequest(player, param);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String resolve() {
+        return fixture.expansion.onRequest(player, params[cursor++ & mask]);
+    }
+
+    @Benchmark
+    public String unknown() {
+        return fixture.expansion.onRequest(player, "unknown_placeholder");
+    }
+}
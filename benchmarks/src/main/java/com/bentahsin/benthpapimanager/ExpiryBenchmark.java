@@ -0,0 +1,91 @@
+package com.bentahsin.benthpapimanager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Büyük bir önbellekte periyodik temizliğin maliyeti.
+ * <p>
+ * {@code idle}: hiçbir kaydın süresi dolmamışken bir temizlik turu; önbellek boyutundan bağımsız
+ * olmalıdır. {@code purge}: tüm kayıtların süresi dolmuşken tek bir tur.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpiryBenchmark {
+    private static final int ARGUMENTS_PER_OWNER = 100;
+
+    @State(Scope.Benchmark)
+    public static class LiveCache {
+        @Param({"10000", "100000"})
+        int entries;
+
+        TickClock clock;
+        ResultCache cache;
+
+        @Setup
+        public void setUp() {
+            clock = new TickClock();
+            cache = filled(clock, entries, TimeUnit.HOURS.toMillis(1));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DueCache {
+        @Param({"10000", "100000"})
+        int entries;
+
+        TickClock clock;
+        ResultCache cache;
+
+        @Setup(Level.Invocation)
+        public void setUp() throws InterruptedException {
+            clock = new TickClock();
+            cache = filled(clock, entries, 0L);
+            Thread.sleep(2L);
+            clock.tick();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void idle(LiveCache state) {
+        state.clock.tick();
+        state.cache.expire();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 20)
+    public void purge(DueCache state) {
+        state.cache.expire();
+    }
+
+    private static ResultCache filled(TickClock clock, int entries, long ttl) {
+        ResultCache cache = new ResultCache(new CacheLimits(false, 0L, 0L, ARGUMENTS_PER_OWNER, new AtomicLong()), clock);
+        UUID owner = null;
+        for (int i = 0; i < entries; i++) {
+            if (i % ARGUMENTS_PER_OWNER == 0) {
+                owner = new UUID(0L, i);
+            }
+            cache.put(cache.generation(), owner, "stat", Integer.toString(i % ARGUMENTS_PER_OWNER), "value", ttl, ttl);
+        }
+        return cache;
+    }
+}
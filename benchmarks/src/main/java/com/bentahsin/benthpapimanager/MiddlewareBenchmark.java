@@ -0,0 +1,52 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Üç adımlı bir middleware zincirinin, aynı metodun zincirsiz çağrısına göre ek maliyeti.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MiddlewareBenchmark {
+
+    private BenchmarkEnvironment.Fixture fixture;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        fixture = BenchmarkEnvironment.fixture(new BenchmarkPlaceholders());
+        player = BenchmarkEnvironment.player("middleware");
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String withoutMiddleware() {
+        return fixture.expansion.onRequest(player, "uncached");
+    }
+
+    @Benchmark
+    public String middlewareChain() {
+        return fixture.expansion.onRequest(player, "formatted");
+    }
+}
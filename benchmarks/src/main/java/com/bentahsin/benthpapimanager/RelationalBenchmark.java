@@ -0,0 +1,66 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Önbelleği dolu bir ilişkisel placeholder için görüntüleyen-hedef çifti araması.
+ * İstekler tüm çiftler arasında döner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelationalBenchmark {
+
+    @Param({"10", "100"})
+    int players;
+
+    private BenchmarkEnvironment.Fixture fixture;
+    private Player[] online;
+    private int viewer;
+    private int target;
+
+    @Setup
+    public void setUp() {
+        fixture = BenchmarkEnvironment.fixture(new BenchmarkPlaceholders());
+        online = new Player[players];
+        for (int i = 0; i < players; i++) {
+            online[i] = BenchmarkEnvironment.player("relational" + i);
+        }
+        for (Player one : online) {
+            for (Player two : online) {
+                fixture.expansion.onPlaceholderRequest(one, two, "pair");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String hit() {
+        if (++target == players) {
+            target = 0;
+            if (++viewer == players) viewer = 0;
+        }
+        return fixture.expansion.onPlaceholderRequest(online[viewer], online[target], "pair");
+    }
+}
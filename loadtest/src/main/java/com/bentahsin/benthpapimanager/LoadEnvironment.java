@@ -0,0 +1,404 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Yük simülasyonu için sunucu yerine geçen ortam.
+ * <p>
+ * Ölçüm modülündeki ortamdan farklı olarak zamanlayıcı gerçekten çalışır: "Server thread"
+ * adlı bir thread saniyede 20 tick atar; her tick'te {@code runTask} ile eklenen görevleri, vadesi
+ * gelen senkron tekrar eden görevleri ve {@link #onTick} ile verilen işi çalıştırır, vadesi gelen
+ * asenkron görevleri ise bir thread havuzuna gönderir. {@code Bukkit.isPrimaryThread()} yalnızca
+ * bu thread'de true döner. Her tick'in süresi (MSPT) ölçülür.
+ */
+final class LoadEnvironment {
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+    private static final Logger LOGGER = Logger.getLogger("LoadSimulation");
+
+    private final Map<UUID, Player> online = new ConcurrentHashMap<>();
+    private final Queue<Runnable> syncTasks = new ConcurrentLinkedQueue<>();
+    private final List<Timer> timers = new CopyOnWriteArrayList<>();
+    private final ExecutorService asyncPool = Executors.newCachedThreadPool(named("Scheduler-Async"));
+    private final AtomicInteger taskIds = new AtomicInteger();
+    private final Server server;
+    private final Thread tickThread;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private volatile Runnable onTick = () -> { };
+    private volatile TickStats tickStats = new TickStats();
+    private long currentTick;
+
+    LoadEnvironment(Level logLevel) {
+        LOGGER.setLevel(logLevel);
+        BukkitScheduler scheduler = proxy(BukkitScheduler.class, this::schedule);
+        Plugin placeholderApi = proxy(Plugin.class, (p, method, args) -> "getName".equals(method.getName()) ? "PlaceholderAPI" : defaultValue(method));
+        PluginManager pluginManager = proxy(PluginManager.class, (p, method, args) ->
+                "getPlugin".equals(method.getName()) && "PlaceholderAPI".equals(args[0]) ? placeholderApi : defaultValue(method));
+        Collection<Player> players = online.values();
+        this.tickThread = new Thread(this::loop, "Server thread");
+        this.server = proxy(Server.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getScheduler":
+                    return scheduler;
+                case "getPluginManager":
+                    return pluginManager;
+                case "getLogger":
+                    return LOGGER;
+                case "getOnlinePlayers":
+                    return players;
+                case "getPlayer":
+                    return args[0] instanceof UUID ? online.get(args[0]) : null;
+                case "isPrimaryThread":
+                    return Thread.currentThread() == tickThread;
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "LoadSimulation";
+                default:
+                    return defaultValue(method);
+            }
+        });
+        Bukkit.setServer(server);
+    }
+
+    JavaPlugin plugin() {
+        return new LoadPlugin(server);
+    }
+
+    /**
+     * Tick döngüsünü başlatır. {@code task} her tick'te, görevlerden önce ana thread'de çalışır.
+     */
+    void start(Runnable task) {
+        this.onTick = task;
+        tickThread.start();
+    }
+
+    /**
+     * Ölçülen tick sürelerini sıfırlar ve önceki ölçümü döndürür.
+     */
+    TickStats resetTickStats() {
+        TickStats previous = tickStats;
+        tickStats = new TickStats();
+        return previous;
+    }
+
+    void stop() throws InterruptedException {
+        running.set(false);
+        tickThread.join();
+        asyncPool.shutdown();
+        asyncPool.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Çevrimiçi bir oyuncu oluşturur.
+     * @param world Oyuncunun bulunduğu dünya.
+     * @param permissions Oyuncunun sahip olduğu yetki düğümleri.
+     */
+    Player player(String name, World world, Set<String> permissions) {
+        UUID id = UUID.nameUUIDFromBytes(("load:" + name).getBytes());
+        Player[] self = new Player[1];
+        self[0] = proxy(Player.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                case "toString":
+                    return name;
+                case "getUniqueId":
+                    return id;
+                case "isOnline":
+                    return online.containsKey(id);
+                case "getPlayer":
+                    return self[0];
+                case "hasPermission":
+                    return permissions.contains(permissionName(args[0]));
+                case "getWorld":
+                    return world;
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return p == args[0];
+                default:
+                    return defaultValue(method);
+            }
+        });
+        online.put(id, self[0]);
+        return self[0];
+    }
+
+    /**
+     * Sunucuda olmayan bir oyuncu; sıralama tabloları ve hologramlar gibi istekleri temsil eder.
+     */
+    static OfflinePlayer offlinePlayer(String name) {
+        UUID id = UUID.nameUUIDFromBytes(("load-offline:" + name).getBytes());
+        return proxy(OfflinePlayer.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "toString":
+                    return name;
+                case "getUniqueId":
+                    return id;
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return p == args[0];
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    static World world(String name) {
+        UUID id = UUID.nameUUIDFromBytes(("load-world:" + name).getBytes());
+        return proxy(World.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "toString":
+                    return name;
+                case "getUID":
+                    return id;
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return p == args[0];
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static String permissionName(Object permission) {
+        if (permission instanceof String) return (String) permission;
+        try {
+            return (String) permission.getClass().getMethod("getName").invoke(permission);
+        } catch (ReflectiveOperationException e) {
+            return String.valueOf(permission);
+        }
+    }
+
+    private Object schedule(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "runTask":
+                syncTasks.add((Runnable) args[1]);
+                return task(null);
+            case "runTaskAsynchronously":
+                asyncPool.execute((Runnable) args[1]);
+                return task(null);
+            case "runTaskLater":
+            case "runTaskLaterAsynchronously":
+                return task(addTimer((Runnable) args[1], method.getName().endsWith("Asynchronously"), (Long) args[2], 0L));
+            case "runTaskTimer":
+            case "runTaskTimerAsynchronously":
+                return task(addTimer((Runnable) args[1], method.getName().endsWith("Asynchronously"), (Long) args[2], (Long) args[3]));
+            case "cancelTasks":
+                timers.forEach(timer -> timer.cancelled = true);
+                timers.clear();
+                return null;
+            default:
+                return method.getReturnType() == BukkitTask.class ? task(null) : defaultValue(method);
+        }
+    }
+
+    private Timer addTimer(Runnable runnable, boolean async, long delay, long period) {
+        Timer timer = new Timer(runnable, async, period);
+        synchronized (timers) {
+            timer.nextTick = currentTick + Math.max(1L, delay);
+            timers.add(timer);
+        }
+        return timer;
+    }
+
+    private BukkitTask task(Timer timer) {
+        int id = taskIds.incrementAndGet();
+        return proxy(BukkitTask.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getTaskId":
+                    return id;
+                case "isCancelled":
+                    return timer != null && timer.cancelled;
+                case "cancel":
+                    if (timer != null) {
+                        timer.cancelled = true;
+                        timers.remove(timer);
+                    }
+                    return null;
+                case "isSync":
+                    return timer != null && !timer.async;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private void loop() {
+        long next = System.nanoTime();
+        while (running.get()) {
+            long start = System.nanoTime();
+            tick();
+            long end = System.nanoTime();
+            tickStats.record(end - start);
+
+            next += TICK_NANOS;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } else {
+                // Geride kalan sunucu gibi bekleme yapmadan sonraki tick'e geçilir; birikmiş tick'ler telafi edilmez.
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    private void tick() {
+        long tick;
+        synchronized (timers) {
+            tick = ++currentTick;
+        }
+        run(onTick);
+        for (Timer timer : timers) {
+            if (timer.cancelled || timer.nextTick > tick) continue;
+            if (timer.period > 0) {
+                timer.nextTick = tick + timer.period;
+            } else {
+                timers.remove(timer);
+            }
+            if (!timer.async) {
+                run(timer.runnable);
+            } else if (timer.running.compareAndSet(false, true)) {
+                asyncPool.execute(() -> {
+                    try {
+                        run(timer.runnable);
+                    } finally {
+                        timer.running.set(false);
+                    }
+                });
+            }
+        }
+        Runnable task;
+        while ((task = syncTasks.poll()) != null) {
+            run(task);
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Zamanlanmış görev hata verdi.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(LoadEnvironment.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+
+    static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Tekrar eden veya gecikmeli bir görev. Bukkit'te olduğu gibi asenkron bir görevin önceki
+     * çalışması bitmeden yenisi başlatılmaz.
+     */
+    private static final class Timer {
+        final Runnable runnable;
+        final boolean async;
+        final long period;
+        final AtomicBoolean running = new AtomicBoolean();
+        volatile long nextTick;
+        volatile boolean cancelled;
+
+        Timer(Runnable runnable, boolean async, long period) {
+            this.runnable = runnable;
+            this.async = async;
+            this.period = period;
+        }
+    }
+
+    /**
+     * Bir ölçüm aralığındaki tick süreleri.
+     */
+    static final class TickStats {
+        private final List<Long> durations = new ArrayList<>();
+
+        synchronized void record(long nanos) {
+            durations.add(nanos);
+        }
+
+        /**
+         * @return Tick süreleri, küçükten büyüğe sıralı (nanosaniye).
+         */
+        synchronized long[] sorted() {
+            long[] sorted = new long[durations.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = durations.get(i);
+            }
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static final class LoadPlugin extends JavaPlugin {
+        LoadPlugin(Server server) {
+            super(new JavaPluginLoader(server), new PluginDescriptionFile("LoadSimulation", "1.0", LoadPlugin.class.getName()),
+                    new File(System.getProperty("java.io.tmpdir"), "benth-papi-loadtest"), new File("loadtest.jar"));
+        }
+    }
+}
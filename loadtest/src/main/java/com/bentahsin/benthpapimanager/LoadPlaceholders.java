@@ -0,0 +1,137 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.BatchPlaceholder;
+import com.bentahsin.benthpapimanager.annotations.Cache;
+import com.bentahsin.benthpapimanager.annotations.CacheScope;
+import com.bentahsin.benthpapimanager.annotations.Placeholder;
+import com.bentahsin.benthpapimanager.annotations.PlaceholderIdentifier;
+import com.bentahsin.benthpapimanager.annotations.Refresh;
+import com.bentahsin.benthpapimanager.annotations.RelationalPlaceholder;
+import com.bentahsin.benthpapimanager.annotations.RequirePermission;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simülasyonda kaydedilen placeholder'lar. Her metot, gerçek bir eklentideki karşılığının
+ * maliyetini taklit eder: senkron metotlar CPU'yu meşgul eder, asenkron metotlar veritabanı
+ * gecikmesi kadar bekler. Süreler {@link #costScale} ile ölçeklenir.
+ */
+@Placeholder(identifier = "load", author = "loadtest", version = "1.0")
+public class LoadPlaceholders {
+    static volatile double costScale = 1.0;
+
+    @PlaceholderIdentifier(identifier = "name")
+    public String name(Player player) {
+        return player.getName();
+    }
+
+    @PlaceholderIdentifier(identifier = "ping")
+    public String ping(Player player) {
+        busy(5);
+        return String.valueOf(player.getName().length() * 7);
+    }
+
+    @PlaceholderIdentifier(identifier = "balance")
+    @Cache(duration = 5)
+    public String balance(Player player) {
+        busy(50);
+        return String.format("%,d", player.getUniqueId().getLeastSignificantBits() & 0xFFFFF);
+    }
+
+    @PlaceholderIdentifier(identifier = "rank")
+    @Cache(duration = 30, refreshAhead = 0.2)
+    public String rank(Player player) {
+        busy(30);
+        return "Rank-" + (player.getUniqueId().hashCode() & 7);
+    }
+
+    @PlaceholderIdentifier(identifier = "online")
+    @Cache(duration = 1, scope = CacheScope.GLOBAL)
+    public String online() {
+        busy(20);
+        return String.valueOf(Bukkit.getOnlinePlayers().size());
+    }
+
+    @PlaceholderIdentifier(identifier = "world_players")
+    @Cache(duration = 2, scope = CacheScope.PER_WORLD)
+    public String worldPlayers(Player player) {
+        busy(20);
+        return player.getWorld().getName();
+    }
+
+    @PlaceholderIdentifier(identifier = "stat", async = true)
+    @Cache(duration = 10)
+    public String stat(Player player, String argument) {
+        io(5);
+        return argument + ":" + (player.getUniqueId().hashCode() & 1023);
+    }
+
+    @PlaceholderIdentifier(identifier = "top")
+    @Refresh(interval = 5)
+    public String top(String position) {
+        io(20);
+        return "Player" + position;
+    }
+
+    @PlaceholderIdentifier(identifier = "kills", async = true)
+    @BatchPlaceholder(refresh = 5)
+    public Map<UUID, Integer> kills(Collection<Player> players) {
+        io(10);
+        Map<UUID, Integer> kills = new HashMap<>();
+        for (Player player : players) {
+            kills.put(player.getUniqueId(), player.getUniqueId().hashCode() & 255);
+        }
+        return kills;
+    }
+
+    @PlaceholderIdentifier(identifier = "staff")
+    @RequirePermission("load.staff")
+    public String staff(Player player) {
+        return "[Yetkili]";
+    }
+
+    @RelationalPlaceholder(identifier = "relation")
+    @Cache(duration = 2)
+    public String relation(Player one, Player two) {
+        busy(10);
+        return one.getWorld().equals(two.getWorld()) ? "§a" : "§7";
+    }
+
+    @RelationalPlaceholder(identifier = "same_world", symmetric = true)
+    @Cache(duration = 5)
+    public String sameWorld(Player one, Player two) {
+        busy(5);
+        return String.valueOf(one.getWorld().equals(two.getWorld()));
+    }
+
+    @RelationalPlaceholder(identifier = "friend", async = true)
+    @Cache(duration = 10)
+    public String friend(Player one, Player two) {
+        io(2);
+        return ((one.getUniqueId().hashCode() ^ two.getUniqueId().hashCode()) & 15) == 0 ? "★" : "";
+    }
+
+    /**
+     * Verilen süre boyunca thread'i meşgul eder.
+     */
+    private static void busy(long micros) {
+        long end = System.nanoTime() + (long) (TimeUnit.MICROSECONDS.toNanos(micros) * costScale);
+        while (System.nanoTime() < end) {
+            // Meşgul bekleme
+        }
+    }
+
+    /**
+     * Verilen süre boyunca thread'i bekletir.
+     */
+    private static void io(long millis) {
+        LockSupport.parkNanos((long) (TimeUnit.MILLISECONDS.toNanos(millis) * costScale));
+    }
+}
@@ -0,0 +1,512 @@
+package com.bentahsin.benthpapimanager;
+
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.Relational;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Sunucu olmadan çalışan yük simülasyonu.
+ * <p>
+ * Oyuncular oluşturulur, {@link LoadPlaceholders} {@link BenthPAPIManager#register} ile kaydedilir
+ * ve her oyuncunun skorbord/tab listesi belirli aralıkla yenilenir: her yenilemede oyuncunun
+ * listesindeki tüm placeholder'lar çözülür. Listelerin bir kısmı (senkron çalışan skorbord
+ * eklentileri gibi) ana thread'de, kalanı işçi thread'lerinde çözülür. Bir oyuncunun önceki
+ * yenilemesi bitmemişse yenisi atlanır. Isınmanın ardından ölçülen süre boyunca istek gecikmesi,
+ * tick süresi, önbellek boyutu, heap ve GC bilgileri toplanır.
+ * <pre>
+ * java -jar loadtest.jar --players 500 --placeholders 40 --interval 10 --duration 60
+ * </pre>
+ */
+public final class LoadSimulation {
+    private static final String LOADING = "§eHesaplanıyor...§r";
+    private static final String[] WORLDS = {"world", "world_nether", "world_the_end", "lobby"};
+    private static final int OFFLINE_PLAYERS = 50;
+
+    private final Options options;
+    private final LoadEnvironment environment;
+    private final List<List<Viewer>> slots = new ArrayList<>();
+    private final ExecutorService workers;
+    private final AtomicBoolean dispatching = new AtomicBoolean(true);
+    private volatile Measurement measurement = new Measurement();
+    private PlaceholderExpansion expansion;
+    private long tick;
+
+    private LoadSimulation(Options options) {
+        this.options = options;
+        this.environment = new LoadEnvironment(options.verbose ? Level.INFO : Level.WARNING);
+        this.workers = Executors.newFixedThreadPool(options.threads, LoadEnvironment.named("Load-Worker"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadSimulation(options).run();
+    }
+
+    private void run() throws Exception {
+        LoadPlaceholders.costScale = options.costScale;
+        JavaPlugin plugin = environment.plugin();
+        Random random = new Random(options.seed);
+
+        List<Player> players = new ArrayList<>();
+        World[] worlds = new World[WORLDS.length];
+        for (int i = 0; i < worlds.length; i++) {
+            worlds[i] = LoadEnvironment.world(WORLDS[i]);
+        }
+        for (int i = 0; i < options.players; i++) {
+            Set<String> permissions = new HashSet<>();
+            if (random.nextDouble() < options.staffShare) permissions.add("load.staff");
+            players.add(environment.player("Player" + i, worlds[i % worlds.length], permissions));
+        }
+        List<OfflinePlayer> offline = new ArrayList<>();
+        for (int i = 0; i < OFFLINE_PLAYERS; i++) {
+            offline.add(LoadEnvironment.offlinePlayer("Offline" + i));
+        }
+
+        long cacheLimit = options.cacheLimitMb * 1024L * 1024L;
+        BenthPAPIManager manager = BenthPAPIManager.create(plugin)
+                .withMaxCacheBytes(0L, cacheLimit)
+                .withAsyncExecutor(options.asyncThreads, options.asyncQueue)
+                .withExpansionRegistry(new BenthPAPIManager.ExpansionRegistry() {
+                    @Override
+                    public boolean register(PlaceholderExpansion registered) {
+                        expansion = registered;
+                        return true;
+                    }
+
+                    @Override
+                    public void unregister(PlaceholderExpansion registered) {
+                    }
+                });
+        if (options.tickBudgetMicros > 0) {
+            manager.withTickBudget(options.tickBudgetMicros, 0L, TimeUnit.MICROSECONDS);
+        }
+        manager.register(LoadPlaceholders.class);
+        if (expansion == null) {
+            throw new IllegalStateException("LoadPlaceholders kaydedilemedi.");
+        }
+
+        for (int i = 0; i < options.interval; i++) {
+            slots.add(new ArrayList<>());
+        }
+        for (int i = 0; i < players.size(); i++) {
+            Viewer viewer = new Viewer(players.get(i), random.nextDouble() < options.mainShare,
+                    board(random, players, offline));
+            slots.get(i % options.interval).add(viewer);
+        }
+
+        long heapBefore = usedHeapAfterGc();
+        printHeader();
+        environment.start(this::tick);
+
+        TimeUnit.SECONDS.sleep(options.warmup);
+        measurement = new Measurement();
+        environment.resetTickStats();
+        Resources before = Resources.capture();
+        long start = System.nanoTime();
+
+        TimeUnit.SECONDS.sleep(options.duration);
+        Measurement measured = measurement;
+        LoadEnvironment.TickStats ticks = environment.resetTickStats();
+        Resources after = Resources.capture();
+        long elapsed = System.nanoTime() - start;
+
+        dispatching.set(false);
+        workers.shutdown();
+        workers.awaitTermination(30L, TimeUnit.SECONDS);
+        long cacheWeight = manager.cacheWeight();
+        long heapAfter = usedHeapAfterGc();
+
+        report(measured, ticks, before, after, elapsed, cacheWeight, heapBefore, heapAfter, manager.getMetrics());
+
+        manager.unregisterAll();
+        environment.stop();
+    }
+
+    /**
+     * Bir oyuncunun listesini oluşturur. İlişkisel girdiler oyuncunun listede gördüğü başka bir
+     * oyuncuyu hedefler; çevrimdışı girdiler hologram gibi başka bir oyuncu adına yapılan istekleri
+     * temsil eder.
+     */
+    private List<Request> board(Random random, List<Player> players, List<OfflinePlayer> offline) {
+        List<Request> board = new ArrayList<>(options.placeholders);
+        for (int i = 0; i < options.placeholders; i++) {
+            if (random.nextDouble() < options.relational) {
+                Player target = players.get(random.nextInt(players.size()));
+                board.add(new Request(pick(random, Catalog.RELATIONAL), true, target, null));
+            } else {
+                OfflinePlayer subject = random.nextDouble() < options.offline ? offline.get(random.nextInt(offline.size())) : null;
+                board.add(new Request(pick(random, Catalog.STANDARD), false, null, subject));
+            }
+        }
+        return board;
+    }
+
+    private static String pick(Random random, Map<String, Integer> weights) {
+        int total = 0;
+        for (int weight : weights.values()) total += weight;
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) return entry.getKey().replace("#", String.valueOf(1 + random.nextInt(10)));
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Ana thread'de her tick çalışır ve sırası gelen oyuncuların listelerini yeniler.
+     */
+    private void tick() {
+        if (!dispatching.get()) return;
+        List<Viewer> due = slots.get((int) (tick++ % options.interval));
+        Measurement current = measurement;
+        for (Viewer viewer : due) {
+            if (!viewer.inFlight.compareAndSet(false, true)) {
+                current.skipped.increment();
+                continue;
+            }
+            if (viewer.main) {
+                resolve(viewer, current.main, current);
+            } else {
+                workers.execute(() -> resolve(viewer, current.worker, current));
+            }
+        }
+    }
+
+    private void resolve(Viewer viewer, LatencyHistogram latency, Measurement current) {
+        try {
+            for (Request request : viewer.board) {
+                long start = System.nanoTime();
+                String value;
+                if (request.relational) {
+                    value = ((Relational) expansion).onPlaceholderRequest(viewer.player, request.target, request.params);
+                } else {
+                    value = expansion.onRequest(request.subject != null ? request.subject : viewer.player, request.params);
+                }
+                latency.record(System.nanoTime() - start);
+                if (value == null) {
+                    current.empty.increment();
+                } else if (LOADING.equals(value)) {
+                    current.loading.increment();
+                }
+            }
+            current.boards.increment();
+        } catch (RuntimeException e) {
+            current.failures.increment();
+        } finally {
+            viewer.inFlight.set(false);
+        }
+    }
+
+    private void printHeader() {
+        double target = (double) options.players * options.placeholders * 20.0 / options.interval;
+        System.out.printf(Locale.ROOT, "%d oyuncu x %d placeholder, %d tick'te bir (hedef %,.0f istek/sn); ana thread payı %%%.0f, %d işçi thread%n",
+                options.players, options.placeholders, options.interval, target, options.mainShare * 100, options.threads);
+        System.out.printf(Locale.ROOT, "Isınma %d sn, ölçüm %d sn...%n", options.warmup, options.duration);
+    }
+
+    private void report(Measurement m, LoadEnvironment.TickStats ticks, Resources before, Resources after, long elapsed,
+                        long cacheWeight, long heapBefore, long heapAfter, List<PlaceholderStats> metrics) {
+        double seconds = elapsed / 1e9;
+        long mainCount = sum(m.main.counts());
+        long workerCount = sum(m.worker.counts());
+        long requests = mainCount + workerCount;
+        double target = (double) options.players * options.placeholders * 20.0 / options.interval;
+
+        System.out.println();
+        System.out.println("== Verim");
+        System.out.printf(Locale.ROOT, "  İstek/sn          : %,.0f (hedefin %%%.1f'i)%n", requests / seconds, 100.0 * requests / seconds / target);
+        System.out.printf(Locale.ROOT, "  Yenilenen liste   : %,d; önceki bitmediği için atlanan: %,d%n", m.boards.sum(), m.skipped.sum());
+        System.out.printf(Locale.ROOT, "  Yükleniyor metni  : %%%.2f; boş sonuç: %%%.2f; hata: %,d%n",
+                percent(m.loading.sum(), requests), percent(m.empty.sum(), requests), m.failures.sum());
+
+        System.out.println("== İstek gecikmesi (kova üst sınırı)");
+        printLatency("ana thread", m.main, mainCount);
+        printLatency("işçi thread", m.worker, workerCount);
+
+        long[] durations = ticks.sorted();
+        if (durations.length > 0) {
+            long total = 0;
+            int overruns = 0;
+            for (long duration : durations) {
+                total += duration;
+                if (duration > LoadEnvironment.TICK_NANOS) overruns++;
+            }
+            System.out.println("== Tick süresi (MSPT)");
+            System.out.printf(Locale.ROOT, "  ort %s, p50 %s, p99 %s, en fazla %s; 50 ms'yi aşan %d/%d tick%n",
+                    BenthPAPIManager.formatNanos(total / durations.length), BenthPAPIManager.formatNanos(quantile(durations, 0.50)),
+                    BenthPAPIManager.formatNanos(quantile(durations, 0.99)), BenthPAPIManager.formatNanos(durations[durations.length - 1]),
+                    overruns, durations.length);
+        }
+
+        System.out.println("== Bellek ve GC");
+        System.out.printf(Locale.ROOT, "  Önbellek (tahmini): %s%n", bytes(cacheWeight));
+        System.out.printf(Locale.ROOT, "  GC sonrası heap   : %s (başlangıçta %s)%n", bytes(heapAfter), bytes(heapBefore));
+        if (before.allocatedBytes >= 0 && after.allocatedBytes >= 0) {
+            long allocated = after.allocatedBytes - before.allocatedBytes;
+            System.out.printf(Locale.ROOT, "  Tahsis            : %s/sn, istek başına ~%,d bayt%n",
+                    bytes((long) (allocated / seconds)), requests > 0 ? allocated / requests : 0);
+        }
+        for (Map.Entry<String, long[]> gc : after.collections.entrySet()) {
+            long[] start = before.collections.getOrDefault(gc.getKey(), new long[2]);
+            System.out.printf(Locale.ROOT, "  %-18s: %,d toplama, %,d ms%n", gc.getKey(), gc.getValue()[0] - start[0], gc.getValue()[1] - start[1]);
+        }
+
+        System.out.println("== En pahalı placeholder'lar (ısınma dahil)");
+        List<PlaceholderStats> sorted = new ArrayList<>(metrics);
+        sorted.sort(Comparator.comparingLong(PlaceholderStats::getTotalExecutionNanos).reversed());
+        for (PlaceholderStats stats : sorted.subList(0, Math.min(10, sorted.size()))) {
+            System.out.printf(Locale.ROOT, "  %-20s %,10d çağrı, isabet %%%5.1f, p99 %8s, toplam %s%n",
+                    (stats.isRelational() ? "rel_" : "") + stats.getIdentifier(), stats.getInvocations(), stats.getHitRatio() * 100,
+                    BenthPAPIManager.formatNanos(stats.getExecutionPercentileNanos(0.99)),
+                    BenthPAPIManager.formatNanos(stats.getTotalExecutionNanos()));
+        }
+    }
+
+    private static void printLatency(String label, LatencyHistogram histogram, long count) {
+        if (count == 0) return;
+        long[] counts = histogram.counts();
+        System.out.printf(Locale.ROOT, "  %-12s: %,d istek, ort %s, p50 %s, p99 %s, p99.9 %s, en fazla %s%n", label, count,
+                BenthPAPIManager.formatNanos(histogram.totalNanos() / count), BenthPAPIManager.formatNanos(percentile(counts, 0.50)),
+                BenthPAPIManager.formatNanos(percentile(counts, 0.99)), BenthPAPIManager.formatNanos(percentile(counts, 0.999)),
+                BenthPAPIManager.formatNanos(percentile(counts, 1.0)));
+    }
+
+    private static long percentile(long[] buckets, double quantile) {
+        long total = sum(buckets);
+        if (total == 0) return 0;
+        long target = (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target && seen > 0) {
+                return LatencyHistogram.upperBound(i);
+            }
+        }
+        return LatencyHistogram.upperBound(buckets.length - 1);
+    }
+
+    private static long quantile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) total += value;
+        return total;
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes < 1024L) return bytes + " B";
+        if (bytes < 1024L * 1024L) return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+        return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * İstek türleri ve bir listede görülme ağırlıkları. {@code #} 1-10 arası bir sayıyla değiştirilir.
+     */
+    private static final class Catalog {
+        static final Map<String, Integer> STANDARD = new LinkedHashMap<>();
+        static final Map<String, Integer> RELATIONAL = new LinkedHashMap<>();
+
+        static {
+            STANDARD.put("name", 10);
+            STANDARD.put("ping", 8);
+            STANDARD.put("balance", 12);
+            STANDARD.put("rank", 10);
+            STANDARD.put("online", 8);
+            STANDARD.put("world_players", 6);
+            STANDARD.put("stat_kills", 4);
+            STANDARD.put("stat_deaths", 4);
+            STANDARD.put("stat_wins", 4);
+            STANDARD.put("top_#", 6);
+            STANDARD.put("kills", 10);
+            STANDARD.put("staff", 4);
+            RELATIONAL.put("relation", 5);
+            RELATIONAL.put("same_world", 3);
+            RELATIONAL.put("friend", 2);
+        }
+    }
+
+    private static final class Request {
+        final String params;
+        final boolean relational;
+        final Player target;
+        final OfflinePlayer subject;
+
+        Request(String params, boolean relational, Player target, OfflinePlayer subject) {
+            this.params = params;
+            this.relational = relational;
+            this.target = target;
+            this.subject = subject;
+        }
+    }
+
+    private static final class Viewer {
+        final Player player;
+        final boolean main;
+        final List<Request> board;
+        final AtomicBoolean inFlight = new AtomicBoolean();
+
+        Viewer(Player player, boolean main, List<Request> board) {
+            this.player = player;
+            this.main = main;
+            this.board = board;
+        }
+    }
+
+    /**
+     * Bir ölçüm aralığının sayaçları. Isınma bittiğinde yenisiyle değiştirilir.
+     */
+    private static final class Measurement {
+        final LatencyHistogram main = new LatencyHistogram();
+        final LatencyHistogram worker = new LatencyHistogram();
+        final LongAdder boards = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder loading = new LongAdder();
+        final LongAdder empty = new LongAdder();
+        final LongAdder failures = new LongAdder();
+    }
+
+    /**
+     * Anlık GC ve tahsis sayaçları. Tahsis, o anda yaşayan thread'lerin toplamıdır; arada biten
+     * thread'lerin tahsisleri sayılmaz.
+     */
+    private static final class Resources {
+        final Map<String, long[]> collections = new LinkedHashMap<>();
+        long allocatedBytes = -1;
+
+        static Resources capture() {
+            Resources resources = new Resources();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                resources.collections.put(gc.getName(), new long[]{gc.getCollectionCount(), gc.getCollectionTime()});
+            }
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) threads;
+                if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                    long total = 0;
+                    for (long allocated : sun.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                        if (allocated > 0) total += allocated;
+                    }
+                    resources.allocatedBytes = total;
+                }
+            }
+            return resources;
+        }
+    }
+
+    /**
+     * Komut satırı seçenekleri.
+     */
+    private static final class Options {
+        static final String USAGE = "Kullanım: java -jar loadtest.jar [--players 500] [--placeholders 40] [--interval 10]"
+                + " [--threads 8] [--main-share 0.2] [--relational 0.1] [--offline 0.02] [--staff 0.05]"
+                + " [--warmup 10] [--duration 30] [--async-threads 8] [--async-queue 1024] [--cache-limit-mb 0]"
+                + " [--tick-budget-us 0] [--cost-scale 1.0] [--seed 42] [--verbose]";
+
+        int players = 500;
+        int placeholders = 40;
+        int interval = 10;
+        int threads = 8;
+        double mainShare = 0.2;
+        double relational = 0.1;
+        double offline = 0.02;
+        double staffShare = 0.05;
+        int warmup = 10;
+        int duration = 30;
+        int asyncThreads = 8;
+        int asyncQueue = 1024;
+        long cacheLimitMb;
+        long tickBudgetMicros;
+        double costScale = 1.0;
+        long seed = 42L;
+        boolean verbose;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if ("--verbose".equals(name)) {
+                    options.verbose = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException(name + " için değer verilmedi.");
+                String value = args[++i];
+                try {
+                    switch (name) {
+                        case "--players": options.players = positive(name, Integer.parseInt(value)); break;
+                        case "--placeholders": options.placeholders = positive(name, Integer.parseInt(value)); break;
+                        case "--interval": options.interval = positive(name, Integer.parseInt(value)); break;
+                        case "--threads": options.threads = positive(name, Integer.parseInt(value)); break;
+                        case "--main-share": options.mainShare = share(name, Double.parseDouble(value)); break;
+                        case "--relational": options.relational = share(name, Double.parseDouble(value)); break;
+                        case "--offline": options.offline = share(name, Double.parseDouble(value)); break;
+                        case "--staff": options.staffShare = share(name, Double.parseDouble(value)); break;
+                        case "--warmup": options.warmup = Math.max(0, Integer.parseInt(value)); break;
+                        case "--duration": options.duration = positive(name, Integer.parseInt(value)); break;
+                        case "--async-threads": options.asyncThreads = positive(name, Integer.parseInt(value)); break;
+                        case "--async-queue": options.asyncQueue = positive(name, Integer.parseInt(value)); break;
+                        case "--cache-limit-mb": options.cacheLimitMb = Math.max(0L, Long.parseLong(value)); break;
+                        case "--tick-budget-us": options.tickBudgetMicros = Math.max(0L, Long.parseLong(value)); break;
+                        case "--cost-scale": options.costScale = Math.max(0.0, Double.parseDouble(value)); break;
+                        case "--seed": options.seed = Long.parseLong(value); break;
+                        default: throw new IllegalArgumentException("Bilinmeyen seçenek: " + name);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " için geçersiz değer: " + value);
+                }
+            }
+            return options;
+        }
+
+        private static int positive(String name, int value) {
+            if (value <= 0) throw new IllegalArgumentException(name + " pozitif olmalıdır.");
+            return value;
+        }
+
+        private static double share(String name, double value) {
+            if (value < 0 || value > 1) throw new IllegalArgumentException(name + " 0 ile 1 arasında olmalıdır.");
+            return value;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.bentahsin.benthpapimanager.processor;
+
+import com.bentahsin.benthpapimanager.PlaceholderDispatcher;
+import com.bentahsin.benthpapimanager.annotations.Cache;
+import com.bentahsin.benthpapimanager.annotations.Inject;
+import com.bentahsin.benthpapimanager.annotations.Placeholder;
+import com.bentahsin.benthpapimanager.annotations.PlaceholderIdentifier;
+import com.bentahsin.benthpapimanager.annotations.RelationalPlaceholder;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Placeholder} sınıfları için derleme zamanında {@link PlaceholderDispatcher} üretir.
+ * <p>
+ * Her sınıfın yanına, aynı pakette {@code <Sınıf>_BenthDispatcher} adlı bir sınıf yazılır. Bu
+ * sınıf örneği {@code new} ile oluşturur, {@link Inject} alanlarını doğrudan atar ve placeholder
+ * metotlarını bir {@code switch} ile doğrudan çağırır. Dağıtıcı sınıf başına üretilir; aynı
+ * tanımlayıcı grubundaki sınıflar ayrı derleme birimlerinde, hatta ayrı modüllerde olabileceği
+ * için grup çalışma zamanında bu dağıtıcılardan birleştirilir.
+ * <p>
+ * Üretilen koddan erişilemeyen sınıflar (private, soyut, static olmayan iç sınıf, private veya
+ * final {@code @Inject} alanı, erişilemeyen parametre tipi) için dağıtıcı üretilmez; bu sınıflar
+ * çalışma zamanında eskisi gibi yansıma ile kaydedilir. Ayrıca aynı grupta tekrar eden
+ * tanımlayıcılar ve geçersiz {@link Cache} değerleri derleme sırasında uyarı olarak bildirilir.
+ */
+public final class PlaceholderProcessor extends AbstractProcessor {
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    /**
+     * Grup tanımlayıcısı -> placeholder tanımlayıcısı -> onu tanımlayan sınıf. İlişkisel
+     * tanımlayıcılar "rel_" önekiyle tutulur. Derleme turları arasında korunur.
+     */
+    private final Map<String, Map<String, String>> identifiers = new HashMap<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(Placeholder.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(Placeholder.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@Placeholder yalnızca sınıflarda kullanılabilir.", element);
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Entry> entries = collectMethods(type);
+            checkIdentifiers(type, entries);
+
+            List<VariableElement> injections = collectInjections(type);
+            String reason = unsupportedReason(type, entries, injections);
+            if (reason != null) {
+                messager.printMessage(Diagnostic.Kind.NOTE, "'" + type.getSimpleName() + "' için dağıtıcı üretilmedi (" + reason
+                        + "); sınıf çalışma zamanında yansıma ile kaydedilecek.", type);
+                continue;
+            }
+
+            try {
+                write(type, entries, injections);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "'" + type.getSimpleName() + "' için dağıtıcı yazılamadı: " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Çalışma zamanındaki {@code Class#getMethods()} taramasıyla aynı metotları, yani sınıfın ve
+     * üst tiplerinin public metotlarını toplar.
+     */
+    private List<Entry> collectMethods(TypeElement type) {
+        List<Entry> entries = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) continue;
+
+            PlaceholderIdentifier standard = method.getAnnotation(PlaceholderIdentifier.class);
+            RelationalPlaceholder relational = method.getAnnotation(RelationalPlaceholder.class);
+            if (standard != null) {
+                entries.add(new Entry(method, standard.identifier(), false));
+            }
+            if (relational != null) {
+                entries.add(new Entry(method, relational.identifier(), true));
+            }
+
+            Cache cache = method.getAnnotation(Cache.class);
+            if (cache == null) continue;
+            if (standard == null && relational == null) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@Cache yalnızca placeholder metotlarında etkilidir.", method);
+            }
+            if (cache.duration() <= 0) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@Cache süresi pozitif değil; sonuç önbellekte tutulmayacak.", method);
+            }
+            if (cache.refreshAhead() < 0 || cache.refreshAhead() >= 1) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@Cache refreshAhead 0 ile 1 arasında olmalı; değer yok sayılacak.", method);
+            }
+            if (cache.staleWhileRevalidate() < 0) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@Cache staleWhileRevalidate negatif olamaz; değer yok sayılacak.", method);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Çalışma zamanındaki {@code Class#getDeclaredFields()} taramasıyla aynı şekilde, yalnızca
+     * sınıfın kendi {@link Inject} alanlarını toplar.
+     */
+    private static List<VariableElement> collectInjections(TypeElement type) {
+        List<VariableElement> injections = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(Inject.class) != null) {
+                injections.add(field);
+            }
+        }
+        return injections;
+    }
+
+    /**
+     * Aynı gruptaki tekrar eden tanımlayıcıları bildirir; çalışma zamanında bunlardan yalnızca
+     * biri kullanılır.
+     */
+    private void checkIdentifiers(TypeElement type, List<Entry> entries) {
+        String group = type.getAnnotation(Placeholder.class).identifier();
+        Map<String, String> seen = identifiers.computeIfAbsent(group, k -> new HashMap<>());
+        String owner = type.getQualifiedName().toString();
+        Map<String, Entry> local = new HashMap<>();
+        for (Entry entry : entries) {
+            String key = (entry.relational ? "rel_" : "") + entry.identifier.toLowerCase();
+            Entry sameClass = local.put(key, entry);
+            String previous = seen.put(key, owner);
+            if (sameClass != null || (previous != null && !previous.equals(owner))) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "'" + entry.identifier + "' tanımlayıcısı '" + group
+                        + "' grubunda birden fazla kez tanımlanmış; çalışma zamanında yalnızca biri kullanılır.", entry.method);
+            }
+        }
+    }
+
+    /**
+     * @return Üretilen kodun sınıfa erişemeyeceği durumun açıklaması; dağıtıcı üretilebiliyorsa null.
+     */
+    private String unsupportedReason(TypeElement type, List<Entry> entries, List<VariableElement> injections) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return "soyut sınıf";
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) return "yerel veya anonim sınıf";
+        for (Element e = type; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return "private sınıf";
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) return "static olmayan iç sınıf";
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        boolean constructible = false;
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                constructible = true;
+            }
+        }
+        if (!constructible) return "erişilebilir parametresiz constructor yok";
+
+        PackageElement pkg = elements.getPackageOf(type);
+        for (VariableElement field : injections) {
+            if (field.getModifiers().contains(Modifier.PRIVATE)) return "'" + field.getSimpleName() + "' @Inject alanı private";
+            if (field.getModifiers().contains(Modifier.FINAL)) return "'" + field.getSimpleName() + "' @Inject alanı final";
+            if (!isAccessible(types.erasure(field.asType()), pkg)) return "'" + field.getSimpleName() + "' alanının tipine erişilemiyor";
+        }
+        for (Entry entry : entries) {
+            if (entry.method.getParameters().size() > 3) {
+                return "'" + entry.method.getSimpleName() + "' metodu üçten fazla parametre alıyor";
+            }
+            for (VariableElement parameter : entry.method.getParameters()) {
+                if (!isAccessible(types.erasure(parameter.asType()), pkg)) {
+                    return "'" + entry.method.getSimpleName() + "' metodunun parametre tiplerine erişilemiyor";
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isAccessible(TypeMirror type, PackageElement pkg) {
+        if (type.getKind() == TypeKind.ARRAY) return isAccessible(((ArrayType) type).getComponentType(), pkg);
+        if (type.getKind() != TypeKind.DECLARED) return true;
+
+        for (Element e = ((DeclaredType) type).asElement(); e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return false;
+            if (!e.getModifiers().contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(pkg)) return false;
+        }
+        return true;
+    }
+
+    private void write(TypeElement type, List<Entry> entries, List<VariableElement> injections) throws IOException {
+        PackageElement pkg = elements.getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_')
+                + PlaceholderDispatcher.SUFFIX;
+        String target = type.getQualifiedName().toString();
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("/**\n * {@link ").append(target).append("} için BenthPAPIManager tarafından üretilmiştir; elle düzenlemeyin.\n */\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        out.append("public final class ").append(simpleName).append(" implements ").append(PlaceholderDispatcher.class.getCanonicalName()).append(" {\n\n");
+
+        out.append("    private static final String[] NAMES = {");
+        for (int i = 0; i < entries.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('"').append(entries.get(i).method.getSimpleName()).append('"');
+        }
+        out.append("};\n");
+        out.append("    private static final boolean[] RELATIONAL = {");
+        for (int i = 0; i < entries.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append(entries.get(i).relational);
+        }
+        out.append("};\n\n");
+
+        out.append("    @Override\n    public Object create() {\n        return new ").append(target).append("();\n    }\n\n");
+
+        out.append("    @Override\n    public void inject(Object instance, Injector injector) {\n");
+        if (!injections.isEmpty()) {
+            out.append("        ").append(target).append(" target = (").append(target).append(") instance;\n");
+            out.append("        Object value;\n");
+            for (VariableElement field : injections) {
+                String fieldType = types.erasure(field.asType()).toString();
+                out.append("        value = injector.resolve(\"").append(field.getSimpleName()).append("\", ").append(fieldType).append(".class);\n");
+                out.append("        if (value != null) target.").append(field.getSimpleName()).append(" = (").append(fieldType).append(") value;\n");
+            }
+        }
+        out.append("    }\n\n");
+
+        out.append("    @Override\n    public int size() {\n        return NAMES.length;\n    }\n\n");
+        out.append("    @Override\n    public String methodName(int index) {\n        return NAMES[index];\n    }\n\n");
+        out.append("    @Override\n    public boolean relational(int index) {\n        return RELATIONAL[index];\n    }\n\n");
+
+        out.append("    @Override\n    public Class<?>[] parameterTypes(int index) {\n        switch (index) {\n");
+        for (int i = 0; i < entries.size(); i++) {
+            out.append("            case ").append(i).append(": return new Class<?>[] {");
+            List<? extends VariableElement> parameters = entries.get(i).method.getParameters();
+            for (int p = 0; p < parameters.size(); p++) {
+                out.append(p == 0 ? "" : ", ").append(types.erasure(parameters.get(p).asType())).append(".class");
+            }
+            out.append("};\n");
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(String.valueOf(index));\n        }\n    }\n\n");
+
+        out.append("    @Override\n    public Object invoke(Object instance, int index, Object a, Object b, Object c) throws Throwable {\n");
+        out.append("        ").append(target).append(" target = (").append(target).append(") instance;\n");
+        out.append("        switch (index) {\n");
+        for (int i = 0; i < entries.size(); i++) {
+            out.append("            case ").append(i).append(": ").append(invocation(target, entries.get(i).method)).append('\n');
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(String.valueOf(index));\n        }\n    }\n}\n");
+
+        String fileName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        JavaFileObject file = filer.createSourceFile(fileName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    /**
+     * Çağırıcıların desteklediği en fazla üç argümanı sırasıyla parametre tiplerine dönüştürerek
+     * metodu doğrudan çağıran ifadeyi oluşturur. Daha fazla parametre alan metotları içeren
+     * sınıflar için {@link #unsupportedReason} dağıtıcı üretilmesini engeller.
+     */
+    private String invocation(String target, ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+
+        StringBuilder call = new StringBuilder();
+        call.append(method.getModifiers().contains(Modifier.STATIC) ? target : "target").append('.').append(method.getSimpleName()).append('(');
+        String[] arguments = {"a", "b", "c"};
+        for (int p = 0; p < parameters.size(); p++) {
+            TypeMirror parameterType = types.erasure(parameters.get(p).asType());
+            call.append(p == 0 ? "" : ", ").append('(').append(parameterType).append(") ").append(arguments[p]);
+        }
+        call.append(')');
+
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            return call.append("; return null;").toString();
+        }
+        return "return " + call.append(';');
+    }
+
+    private static final class Entry {
+        final ExecutableElement method;
+        final String identifier;
+        final boolean relational;
+
+        Entry(ExecutableElement method, String identifier, boolean relational) {
+            this.method = method;
+            this.identifier = identifier;
+            this.relational = relational;
+        }
+    }
+}
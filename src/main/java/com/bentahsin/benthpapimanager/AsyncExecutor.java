@@ -0,0 +1,173 @@
+package com.bentahsin.benthpapimanager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asenkron placeholder'lar için yöneticiye ait, sınırlı kapasiteli yürütücü.
+ * <p>
+ * Java 21 ve üzerinde sanal thread'ler, daha eski sürümlerde sabit boyutlu bir thread havuzu
+ * kullanılır. Her iki durumda da aynı anda en fazla {@code maxThreads} görev çalışır ve en fazla
+ * {@code queueCapacity} görev sırada bekler; sanal thread'lerde bekleyen görevler, çalışan bir
+ * görev bittiğinde başlatılır. Kapasite dolduğunda görev reddedilir ve çağıran taraf eski değeri
+ * veya yükleniyor metnini döndürür.
+ */
+final class AsyncExecutor {
+    private static final long SHUTDOWN_TIMEOUT_MS = 3000L;
+
+    private final Logger logger;
+    private final String name;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final Semaphore virtualPermits;
+    private final BlockingQueue<Runnable> virtualQueue;
+    private final ExecutorService delegate;
+
+    AsyncExecutor(Logger logger, String name, int maxThreads, int queueCapacity) {
+        this.logger = logger;
+        this.name = name;
+        this.maxThreads = Math.max(1, maxThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+
+        ExecutorService virtual = createVirtualExecutor();
+        if (virtual != null) {
+            this.delegate = virtual;
+            this.virtualPermits = new Semaphore(this.maxThreads);
+            this.virtualQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        } else {
+            this.delegate = createPlatformExecutor();
+            this.virtualPermits = null;
+            this.virtualQueue = null;
+        }
+    }
+
+    boolean isVirtual() {
+        return virtualPermits != null;
+    }
+
+    /**
+     * Görevi çalıştırmak üzere kabul etmeye çalışır.
+     * @return Görev kabul edildiyse true; kapasite dolu veya yürütücü kapatılmışsa false.
+     */
+    boolean submit(Runnable task) {
+        if (virtualPermits != null) {
+            if (virtualPermits.tryAcquire()) return startVirtual(task);
+            if (!virtualQueue.offer(task)) return false;
+            drainVirtual();
+            return true;
+        }
+
+        try {
+            delegate.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * İzni alınmış görevi bir sanal thread'de başlatır. Görev bittiğinde izin bırakılır ve
+     * sıradaki görevler başlatılır.
+     */
+    private boolean startVirtual(Runnable task) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    virtualPermits.release();
+                    drainVirtual();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            virtualPermits.release();
+            return false;
+        }
+    }
+
+    /**
+     * Boş izin oldukça sıradaki görevleri başlatır. Sıra boşalmışsa alınan izin bırakılır ve
+     * sıra yeniden kontrol edilir; böylece izin tutulurken eklenen görev sırada kalmaz.
+     */
+    private void drainVirtual() {
+        while (!virtualQueue.isEmpty() && virtualPermits.tryAcquire()) {
+            Runnable next = virtualQueue.poll();
+            if (next == null) {
+                virtualPermits.release();
+                continue;
+            }
+            if (!startVirtual(next)) {
+                virtualQueue.clear();
+                return;
+            }
+        }
+    }
+
+    void shutdown() {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                delegate.shutdownNow();
+                logger.warning("Asenkron placeholder görevleri " + SHUTDOWN_TIMEOUT_MS + " ms içinde bitmedi, durduruldu.");
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService createPlatformExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-Async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Çalışma zamanı Java 21 veya üzeriyse, yansıma ile sanal thread yürütücüsü oluşturur.
+     * Kütüphane Java 8 hedeflediği için bu API'lere doğrudan başvurulamaz.
+     */
+    private ExecutorService createVirtualExecutor() {
+        if (featureVersion() < 21) return null;
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-Virtual-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method create = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) create.invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.log(Level.FINE, "Sanal thread yürütücüsü oluşturulamadı, platform thread'leri kullanılacak.", e);
+            return null;
+        }
+    }
+
+    private static int featureVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) return 8;
+        try {
+            int dot = version.indexOf('.');
+            return Integer.parseInt(dot < 0 ? version : version.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+}
@@ -3,13 +3,19 @@ package com.bentahsin.benthpapimanager;
 import com.bentahsin.benthpapimanager.annotations.*;
 import com.bentahsin.benthpapimanager.middleware.PlaceholderMiddleware;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import me.clip.placeholderapi.expansion.Relational;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
-import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -19,18 +25,59 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 public final class BenthPAPIManager {
 
     private final JavaPlugin plugin;
-    private final List<PlaceholderExpansion> registeredExpansions = new ArrayList<>();
+    private final List<PlaceholderExpansion> registeredExpansions = new CopyOnWriteArrayList<>();
     private final Map<Class<?>, Object> injectables = new HashMap<>();
+    private final PlayerListener playerListener = new PlayerListener();
+    private final InvalidationListener invalidationListener = new InvalidationListener();
+    private final InvalidationListener permissionListener = new InvalidationListener();
+    private final Map<Class<? extends Event>, List<InvalidationTarget>> invalidations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Method>> playerGetters = new ConcurrentHashMap<>();
+    private final TickClock clock = new TickClock();
+    private boolean listenerRegistered = false;
+    private BukkitTask clockTask;
+    private BukkitTask slowLogTask;
+    private BukkitTask cacheSnapshotTask;
+    private String cacheSnapshotDirectory;
+    private long cacheSnapshotPeriodTicks;
     private String globalErrorText = "§cError§r";
-    private boolean debugMode = false;
+    private int traceSampleEvery = 0;
+    private int traceCapacity = 1024;
+    private long slowRequestNanos = 0L;
+    private RequestTracer tracer;
+    private boolean cacheByteWeighted = false;
+    private long maxCachePerExpansion = 50_000L;
+    private long maxCacheGlobal = 0L;
+    private int maxCachedArguments = 256;
+    private final AtomicLong globalCacheWeight = new AtomicLong();
+    private int asyncThreads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private int asyncQueueCapacity = 256;
+    private int asyncConcurrencyLimit = 0;
+    private AsyncExecutor asyncExecutor;
+    private CacheBackend sharedBackend;
+    private SharedCache sharedCache;
+    private BukkitTask sharedCacheTask;
+    private long permissionCacheMillis = 0L;
+    private List<Class<? extends Event>> permissionEvents = Collections.emptyList();
+    private PermissionCache permissionCache;
+    private boolean permissionEventsRegistered = false;
+    private long tickBudgetPerCallNanos = 0L;
+    private long tickBudgetPerTickNanos = 0L;
+    private TickBudget tickBudget;
+    private ExpansionRegistry expansionRegistry = ExpansionRegistry.PLACEHOLDER_API;
+    private final MiddlewareRegistry middlewares;
 
     private BenthPAPIManager(JavaPlugin plugin) {
         this.plugin = plugin;
+        this.middlewares = new MiddlewareRegistry(plugin.getLogger());
     }
 
     public static BenthPAPIManager create(JavaPlugin plugin) {
@@ -42,13 +89,192 @@ public final class BenthPAPIManager {
         return this;
     }
 
+    /**
+     * Bir middleware sınıfı için parametresiz constructor ile oluşturulacak örnek yerine verilen
+     * örneği kullanır. Örnek, bu yöneticiye kaydedilen tüm placeholder gruplarınca paylaşılır.
+     * @param middleware Kullanılacak örnek; {@code @Middleware} içinde sınıfıyla belirtilir.
+     */
+    public BenthPAPIManager withMiddleware(PlaceholderMiddleware middleware) {
+        this.middlewares.register(middleware);
+        return this;
+    }
+
     public BenthPAPIManager withDefaultErrorText(String errorText) {
         this.globalErrorText = errorText;
         return this;
     }
 
+    /**
+     * Tüm istekleri izleme tamponuna kaydeder ve 5 ms'den uzun süren istekleri loglar.
+     * İstekler tek tek loglanmaz; tampon {@link #dumpTraces(String)} ile dosyaya dökülebilir.
+     */
     public BenthPAPIManager withDebugMode() {
-        this.debugMode = true;
+        this.traceSampleEvery = 1;
+        if (this.slowRequestNanos == 0L) {
+            this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(5);
+        }
+        return this;
+    }
+
+    /**
+     * Örneklenen placeholder isteklerini sabit boyutlu bir tampona kaydeder. Her iz; tanımlayıcıyı,
+     * oyuncuyu, dağıtım/önbellek/çalışma/middleware sürelerini ve sonucu içerir. Kayıt istek
+     * yolunda log yazmaz; tampon {@link #dumpTraces(String)} ile dosyaya dökülür.
+     * @param sampleEvery Her kaç istekten birinin kaydedileceği (1 = tümü).
+     * @param capacity Tamponda tutulacak en fazla iz sayısı; eskiler üzerine yazılır.
+     */
+    public BenthPAPIManager withTracing(int sampleEvery, int capacity) {
+        this.traceSampleEvery = sampleEvery;
+        this.traceCapacity = capacity;
+        return this;
+    }
+
+    /**
+     * Verilen süreden uzun süren istekleri, örneklemeden bağımsız olarak izleme tamponuna kaydeder
+     * ve saniyede bir asenkron olarak loglar.
+     * @param threshold Eşik süresi (0 = kapalı).
+     * @param unit Eşiğin zaman birimi.
+     */
+    public BenthPAPIManager withSlowRequestLog(long threshold, TimeUnit unit) {
+        this.slowRequestNanos = unit.toNanos(threshold);
+        return this;
+    }
+
+    /**
+     * Önbelleği kayıt sayısıyla sınırlar.
+     * @param perExpansion Her placeholder grubunun tutabileceği en fazla kayıt (0 = sınırsız).
+     * @param global Tüm gruplar toplamında en fazla kayıt (0 = sınırsız).
+     */
+    public BenthPAPIManager withMaxCacheEntries(long perExpansion, long global) {
+        this.cacheByteWeighted = false;
+        this.maxCachePerExpansion = perExpansion;
+        this.maxCacheGlobal = global;
+        return this;
+    }
+
+    /**
+     * Önbelleği tahmini bellek kullanımıyla (bayt) sınırlar.
+     * @param perExpansion Her placeholder grubu için en fazla bayt (0 = sınırsız).
+     * @param global Tüm gruplar toplamında en fazla bayt (0 = sınırsız).
+     */
+    public BenthPAPIManager withMaxCacheBytes(long perExpansion, long global) {
+        this.cacheByteWeighted = true;
+        this.maxCachePerExpansion = perExpansion;
+        this.maxCacheGlobal = global;
+        return this;
+    }
+
+    /**
+     * Tek bir oyuncu için tek bir placeholder'ın önbellekte tutabileceği farklı argüman sayısını
+     * sınırlar. Sınıra ulaşıldığında yeni argümanlar hesaplanır ama önbelleğe alınmaz; böylece
+     * serbest argümanlı placeholder'lar sık kullanılan kayıtları dışarı itemez.
+     * @param perPlaceholder Farklı argüman sınırı (0 = sınırsız).
+     */
+    public BenthPAPIManager withMaxCachedArguments(int perPlaceholder) {
+        this.maxCachedArguments = perPlaceholder;
+        return this;
+    }
+
+    /**
+     * Asenkron placeholder'ların çalıştığı, yöneticiye ait yürütücüyü yapılandırır.
+     * Java 21 ve üzerinde sanal thread'ler kullanılır; JDK sürümünden bağımsız olarak aynı anda
+     * en fazla {@code threads} görev çalışır ve en fazla {@code queueCapacity} görev sırada bekler.
+     * @param threads Aynı anda çalışabilecek en fazla görev sayısı.
+     * @param queueCapacity Bekleyebilecek en fazla görev sayısı. Kuyruk doluyken gelen istekler
+     *                      eski değeri veya {@code onLoading} metnini görür.
+     */
+    public BenthPAPIManager withAsyncExecutor(int threads, int queueCapacity) {
+        this.asyncThreads = threads;
+        this.asyncQueueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Her asenkron placeholder için aynı anda çalışabilecek varsayılan görev sayısını belirler.
+     * Anotasyondaki {@code maxConcurrent} değeri bunu ezer.
+     * @param perPlaceholder Eşzamanlılık sınırı (0 = sınırsız).
+     */
+    public BenthPAPIManager withAsyncConcurrencyLimit(int perPlaceholder) {
+        this.asyncConcurrencyLimit = perPlaceholder;
+        return this;
+    }
+
+    /**
+     * {@code @RequirePermission} kontrollerinin oyuncu başına sonuçlarını saklar. Varsayılan olarak
+     * kapalıdır ve yetki her istekte sorulur. Açıldığında kararlar verilen süre boyunca saklanır ve
+     * oyuncu çıktığında silinir. Yetki değişikliklerinde bir olay yayınlayan eklentiler için bu
+     * olaylar verilebilir; olaydaki oyuncunun (oyuncu yoksa herkesin) kararları silinir. Yetkiler başka bir yoldan değiştiğinde {@link #invalidatePermissions} çağrılabilir.
+     * @param ttl Kararların saklanacağı en uzun süre (0 = önbellek kapalı).
+     * @param unit Sürenin zaman birimi.
+     * @param invalidateOn Kararları silen olaylar.
+     */
+    @SafeVarargs
+    public final BenthPAPIManager withPermissionCache(long ttl, TimeUnit unit, Class<? extends Event>... invalidateOn) {
+        this.permissionCacheMillis = unit.toMillis(Math.max(0L, ttl));
+        this.permissionEvents = new ArrayList<>();
+        for (Class<? extends Event> eventType : invalidateOn) {
+            this.permissionEvents.add(eventType);
+        }
+        return this;
+    }
+
+    /**
+     * Senkron placeholder metotlarının ana thread'deki çalışma süresini sınırlar. Tek bir çağrıda
+     * veya bir tick içinde toplamda bütçeyi tekrar tekrar aşan metot, düzelene kadar kütüphanenin
+     * yürütücüsünde asenkron çalıştırılır: istekler hesaplanırken eski değeri (yoksa
+     * {@code onLoading}) alır. Geçişler konsola bir kez yazılır.
+     * <p>
+     * Asenkron çalıştırılan metot ana thread dışında çağrılır; yalnızca thread güvenli olmayan
+     * Bukkit API'lerine erişmeyen metotlar için kullanılmalıdır.
+     * @param perCall Tek bir çağrının bütçesi (0 = sınırsız).
+     * @param perTick Bir metodun bir tick içindeki toplam bütçesi (0 = sınırsız).
+     * @param unit Bütçelerin zaman birimi.
+     */
+    public BenthPAPIManager withTickBudget(long perCall, long perTick, TimeUnit unit) {
+        this.tickBudgetPerCallNanos = unit.toNanos(Math.max(0L, perCall));
+        this.tickBudgetPerTickNanos = unit.toNanos(Math.max(0L, perTick));
+        return this;
+    }
+
+    /**
+     * Genişlemeleri PlaceholderAPI yerine verilen kayıt işlemiyle kaydeder. Sunucu olmadan
+     * çalışan yük simülasyonu içindir.
+     */
+    BenthPAPIManager withExpansionRegistry(ExpansionRegistry registry) {
+        this.expansionRegistry = registry;
+        return this;
+    }
+
+    /**
+     * Asenkron ve {@code CacheScope.GLOBAL} kapsamlı {@code @Cache} placeholder'larını, aynı arka uca
+     * bağlı sunucular arasında paylaşır. Değer önce sunucunun kendi önbelleğinde, bulunamazsa
+     * arka uçta aranır; yalnızca ikisinde de yoksa hesaplanır ve arka uca yazılır. Okumalar ve
+     * yazmalar her tick toplu gönderilir. {@link #invalidate(String, String)} gibi oyuncuya özel
+     * olmayan geçersiz kılmalar diğer sunuculara da iletilir.
+     * @param backend Paylaşılan önbellek; test için {@link InMemoryCacheBackend} kullanılabilir.
+     */
+    public BenthPAPIManager withSharedCache(CacheBackend backend) {
+        this.sharedBackend = backend;
+        return this;
+    }
+
+    /**
+     * Önbellekleri {@link #unregisterAll()} sırasında ve belirtilen aralıkla eklenti klasöründeki
+     * bir dizine yazar. Sonraki başlangıçta bu kayıtlar kalan süreleriyle geri yüklenir; böylece
+     * yeniden başlatmadan sonra asenkron placeholder'lar {@code onLoading} göstermez ve veri
+     * kaynağı aynı anda gelen isteklerle yüklenmez.
+     * <p>
+     * Dosya {@code register} çağrısını bekletmeden asenkron olarak ve bütünüyle belleğe okunur.
+     * Oyunculara ait kayıtlar bellekte bekletilir ve oyuncu sunucuya girdiğinde önbelleğe yüklenir. Kapalıyken süresi dolmuş kayıtlar kısa bir süre
+     * eski değer olarak sunulup yeniden hesaplanır; imzası veya önbellek ayarları değişen
+     * placeholder'ların kayıtları yüklenmez.
+     * @param directory Eklenti klasörüne göre dizin adı (örn: "cache").
+     * @param interval Periyodik kaydetme aralığı (0 = yalnızca kapanışta).
+     * @param unit Aralığın zaman birimi.
+     */
+    public BenthPAPIManager withCacheSnapshot(String directory, long interval, TimeUnit unit) {
+        this.cacheSnapshotDirectory = directory;
+        this.cacheSnapshotPeriodTicks = Math.max(0L, unit.toMillis(interval) / 50L);
         return this;
     }
 
@@ -63,16 +289,7 @@ public final class BenthPAPIManager {
             return this;
         }
 
-        Map<String, List<Class<?>>> groupedClasses = new HashMap<>();
-        for (Class<?> clazz : placeholderClasses) {
-            if (!clazz.isAnnotationPresent(Placeholder.class)) {
-                plugin.getLogger().warning("'" + clazz.getName() + "' sınıfı @Placeholder anotasyonuna sahip olmadığı için atlandı.");
-                continue;
-            }
-            Placeholder placeholderInfo = clazz.getAnnotation(Placeholder.class);
-            groupedClasses.computeIfAbsent(placeholderInfo.identifier(), k -> new ArrayList<>()).add(clazz);
-        }
-
+        Map<String, List<Class<?>>> groupedClasses = groupByIdentifier(placeholderClasses);
         if (groupedClasses.isEmpty()) {
             plugin.getLogger().info("Kaydedilecek geçerli placeholder bulunamadı.");
             return this;
@@ -84,8 +301,12 @@ public final class BenthPAPIManager {
 
             try {
                 PlaceholderExpansion expansion = createGroupedExpansion(classesInGroup);
-                if (expansion != null && expansion.register()) {
+                if (expansion != null && expansionRegistry.register(expansion)) {
                     this.registeredExpansions.add(expansion);
+                    if (expansion instanceof DynamicExpansion) {
+                        registerInvalidations((DynamicExpansion) expansion);
+                        loadCacheSnapshot((DynamicExpansion) expansion);
+                    }
                     plugin.getLogger().info("'" + identifier + "' placeholder'ları (" + classesInGroup.size() + " sınıf birleştirildi) başarıyla kaydedildi.");
                 } else {
                     plugin.getLogger().warning("'" + identifier + "' placeholder'ları kaydedilemedi.");
@@ -94,9 +315,145 @@ public final class BenthPAPIManager {
                 plugin.getLogger().log(Level.SEVERE, "'" + identifier + "' placeholder grubu işlenirken bir hata oluştu:", e);
             }
         }
+
+        if (!listenerRegistered && !registeredExpansions.isEmpty()) {
+            plugin.getServer().getPluginManager().registerEvents(playerListener, plugin);
+            listenerRegistered = true;
+        }
+        if (clockTask == null && !registeredExpansions.isEmpty()) {
+            clockTask = plugin.getServer().getScheduler().runTaskTimer(plugin, clock::tick, 1L, 1L);
+        }
+        if (slowLogTask == null && tracer != null && tracer.logsSlowRequests()) {
+            slowLogTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, tracer::flushSlow, 20L, 20L);
+        }
+        if (!permissionEventsRegistered && permissionCache != null && !registeredExpansions.isEmpty()) {
+            registerPermissionEvents();
+            permissionEventsRegistered = true;
+        }
+        if (sharedCacheTask == null && sharedCache != null) {
+            sharedCacheTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, sharedCache::flush, 1L, 1L);
+        }
+        if (cacheSnapshotTask == null && cacheSnapshotDirectory != null && cacheSnapshotPeriodTicks > 0 && !registeredExpansions.isEmpty()) {
+            cacheSnapshotTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::saveCacheSnapshots,
+                    cacheSnapshotPeriodTicks, cacheSnapshotPeriodTicks);
+        }
+        return this;
+    }
+
+    private File cacheSnapshotFile(DynamicExpansion expansion) {
+        File directory = new File(plugin.getDataFolder(), cacheSnapshotDirectory);
+        return new File(directory, expansion.getIdentifier().replaceAll("[^A-Za-z0-9_.-]", "_") + ".bin");
+    }
+
+    /**
+     * Grubun önceki çalışmadan kalan önbellek dosyasını asenkron olarak açar; ardından o sırada
+     * çevrimiçi olan oyuncuların kayıtlarını ana thread'de yükler.
+     */
+    private void loadCacheSnapshot(DynamicExpansion expansion) {
+        if (cacheSnapshotDirectory == null) return;
+        File file = cacheSnapshotFile(expansion);
+        if (!file.isFile()) return;
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                expansion.loadCache(file);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "'" + expansion.getIdentifier() + "' önbellek dosyası yüklenemedi, önbellek boş başlayacak.", e);
+                return;
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                for (Player player : plugin.getServer().getOnlinePlayers()) {
+                    expansion.restorePlayer(player.getUniqueId());
+                }
+            });
+        });
+    }
+
+    private void saveCacheSnapshots() {
+        if (cacheSnapshotDirectory == null) return;
+        for (PlaceholderExpansion expansion : registeredExpansions) {
+            if (!(expansion instanceof DynamicExpansion)) continue;
+            File file = cacheSnapshotFile((DynamicExpansion) expansion);
+            try {
+                File directory = file.getParentFile();
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException(directory + " oluşturulamadı.");
+                }
+                ((DynamicExpansion) expansion).saveCache(file);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "'" + expansion.getIdentifier() + "' önbelleği dosyaya yazılamadı.", e);
+            }
+        }
+    }
+
+    /**
+     * Placeholder gruplarını, PlaceholderAPI'deki kayıtlarını kaldırmadan yeniden yükler.
+     * <p>
+     * Her grubun sınıfları yeniden örneklenir ve metot tabloları tek seferde canlı genişlemeye
+     * yerleştirilir; değişim sırasında gelen istekler eski veya yeni tablolardan birini görür.
+     * İmzası, {@code @Cache}, {@code @BatchPlaceholder} ve {@code @Middleware} ayarları değişmeyen
+     * tanımlayıcıların önbelleği korunur, diğerleri bir sonraki istekte yeniden hesaplanır.
+     * Yeni sürüm oluşturulamazsa önceki sürüm kullanılmaya devam eder. Henüz kayıtlı olmayan
+     * gruplar {@link #register} ile kaydedilir.
+     * @param placeholderClasses Grupların güncel sınıfları; bir grubun tüm sınıfları verilmelidir.
+     */
+    public BenthPAPIManager reload(Class<?>... placeholderClasses) {
+        if (placeholderClasses == null || placeholderClasses.length == 0) {
+            plugin.getLogger().info("Yeniden yüklenecek placeholder sınıfı belirtilmedi.");
+            return this;
+        }
+
+        List<Class<?>> unregistered = new ArrayList<>();
+        for (Map.Entry<String, List<Class<?>>> entry : groupByIdentifier(placeholderClasses).entrySet()) {
+            String identifier = entry.getKey();
+            DynamicExpansion expansion = findExpansion(identifier);
+            if (expansion == null) {
+                unregistered.addAll(entry.getValue());
+                continue;
+            }
+
+            try {
+                Map<String, PlaceholderMethod> standardMethods = new HashMap<>();
+                Map<String, PlaceholderMethod> relationalMethods = new HashMap<>();
+                createMethods(entry.getValue(), standardMethods, relationalMethods);
+                int retained = expansion.reload(standardMethods, relationalMethods);
+                unregisterInvalidations(expansion);
+                registerInvalidations(expansion);
+                plugin.getLogger().info("'" + identifier + "' placeholder'ları yeniden yüklendi ("
+                        + retained + "/" + (standardMethods.size() + relationalMethods.size()) + " tanımlayıcının önbelleği korundu).");
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "'" + identifier + "' placeholder grubu yeniden yüklenirken bir hata oluştu; önceki sürüm kullanılmaya devam ediyor.", e);
+            }
+        }
+
+        if (!unregistered.isEmpty()) {
+            register(unregistered.toArray(new Class<?>[0]));
+        }
         return this;
     }
 
+    private Map<String, List<Class<?>>> groupByIdentifier(Class<?>[] placeholderClasses) {
+        Map<String, List<Class<?>>> groupedClasses = new HashMap<>();
+        for (Class<?> clazz : placeholderClasses) {
+            if (!clazz.isAnnotationPresent(Placeholder.class)) {
+                plugin.getLogger().warning("'" + clazz.getName() + "' sınıfı @Placeholder anotasyonuna sahip olmadığı için atlandı.");
+                continue;
+            }
+            Placeholder placeholderInfo = clazz.getAnnotation(Placeholder.class);
+            groupedClasses.computeIfAbsent(placeholderInfo.identifier(), k -> new ArrayList<>()).add(clazz);
+        }
+        return groupedClasses;
+    }
+
+    private DynamicExpansion findExpansion(String identifier) {
+        for (PlaceholderExpansion registered : registeredExpansions) {
+            if (registered instanceof DynamicExpansion && registered.getIdentifier().equals(identifier)) {
+                return (DynamicExpansion) registered;
+            }
+        }
+        return null;
+    }
+
     @SuppressWarnings("unused")
     public void generateDocs(String fileName) {
         if (!plugin.getDataFolder().exists()) {
@@ -115,7 +472,7 @@ public final class BenthPAPIManager {
                     writer.println("Yazar: " + dyn.getAuthor() + " | Versiyon: " + dyn.getVersion());
                     writer.println("--------------------------------------------------");
 
-                    for (Map.Entry<String, PlaceholderMethod> entry : dyn.standardMethods.entrySet()) {
+                    for (Map.Entry<String, PlaceholderMethod> entry : dyn.standardMethods().entrySet()) {
                         PlaceholderMethod pm = entry.getValue();
                         String fullPapi = "%" + dyn.getIdentifier() + "_" + entry.getKey() + "%";
 
@@ -131,20 +488,43 @@ public final class BenthPAPIManager {
                             writer.println("  Gerekli Yetki: " + pm.permissionInfo.value());
                         }
                         if (pm.cacheInfo != null) {
-                            writer.println("  Önbellek: " + pm.cacheInfo.duration() + " " + pm.cacheInfo.unit().toString().toLowerCase());
+                            writer.println("  Önbellek: " + pm.cacheInfo.duration() + " " + pm.cacheInfo.unit().toString().toLowerCase()
+                                    + " | Kapsam: " + pm.cacheInfo.scope());
+                        }
+                        if (pm.invalidateInfo != null) {
+                            StringBuilder events = new StringBuilder();
+                            for (Class<?> eventType : pm.invalidateInfo.value()) {
+                                if (events.length() > 0) events.append(", ");
+                                events.append(eventType.getSimpleName());
+                            }
+                            writer.println("  Geçersiz Kılan Olaylar: " + events);
+                        }
+                        if (pm.refreshInfo != null) {
+                            writer.println("  Yenileme: her " + pm.refreshInfo.interval() + " " + pm.refreshInfo.unit().toString().toLowerCase());
+                        }
+                        if (pm.batchInfo != null) {
+                            writer.println("  Toplu Çözümleme: " + (pm.batchInfo.refresh() > 0
+                                    ? "her " + pm.batchInfo.refresh() + " " + pm.batchInfo.unit().toString().toLowerCase()
+                                    : "istek üzerine"));
                         }
                         writer.println();
                     }
 
-                    if (!dyn.relationalMethods.isEmpty()) {
+                    if (!dyn.relationalMethods().isEmpty()) {
                         writer.println("  [İlişkisel Placeholderlar]");
-                        for (Map.Entry<String, PlaceholderMethod> entry : dyn.relationalMethods.entrySet()) {
+                        for (Map.Entry<String, PlaceholderMethod> entry : dyn.relationalMethods().entrySet()) {
                             PlaceholderMethod pm = entry.getValue();
                             String fullPapi = "%rel_" + dyn.getIdentifier() + "_" + entry.getKey() + "%";
                             writer.println("• " + fullPapi);
                             if (!pm.relAnnotation.description().isEmpty()) {
                                 writer.println("  Açıklama: " + pm.relAnnotation.description());
                             }
+                            if (pm.symmetric) {
+                                writer.println("  Simetrik: A-B ve B-A aynı sonucu paylaşır");
+                            }
+                            if (pm.isRelationalBatch()) {
+                                writer.println("  Toplu Çözümleme: görüntüleyen başına tüm hedefler tek çağrıda");
+                            }
                             writer.println();
                         }
                     }
@@ -157,7 +537,229 @@ public final class BenthPAPIManager {
         }
     }
 
+    /**
+     * Kayıtlı tüm placeholder'ların ölçümlerinin anlık, değiştirilemez kopyasını döndürür.
+     * @return Her placeholder için bir {@link PlaceholderStats}.
+     */
+    public List<PlaceholderStats> getMetrics() {
+        List<PlaceholderStats> stats = new ArrayList<>();
+        for (PlaceholderExpansion expansion : registeredExpansions) {
+            if (expansion instanceof DynamicExpansion) {
+                DynamicExpansion dyn = (DynamicExpansion) expansion;
+                for (PlaceholderMethod pm : dyn.standardMethods().values()) {
+                    stats.add(pm.metrics.snapshot(dyn.getIdentifier(), pm.identifier, false));
+                }
+                for (PlaceholderMethod pm : dyn.relationalMethods().values()) {
+                    stats.add(pm.metrics.snapshot(dyn.getIdentifier(), pm.identifier, true));
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * @return Tüm grupların önbelleklerinin toplam ağırlığı; {@link #withMaxCacheBytes} ile
+     * yapılandırıldıysa tahmini bayt, değilse kayıt sayısı.
+     */
+    long cacheWeight() {
+        return globalCacheWeight.get();
+    }
+
+    /**
+     * Ölçümleri, toplam çalışma süresine göre çoktan aza sıralanmış şekilde eklentinin veri
+     * klasöründeki bir dosyaya yazar.
+     * @param fileName Dosya adı (örn: "metrics.txt").
+     */
+    @SuppressWarnings("unused")
+    public void dumpMetrics(String fileName) {
+        if (!plugin.getDataFolder().exists()) {
+            boolean ignored = plugin.getDataFolder().mkdirs();
+        }
+        List<PlaceholderStats> stats = getMetrics();
+        stats.sort((a, b) -> Long.compare(b.getTotalExecutionNanos(), a.getTotalExecutionNanos()));
+
+        File file = new File(plugin.getDataFolder(), fileName);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println("=== " + plugin.getName() + " Placeholder Ölçümleri ===");
+            writer.println("Oluşturulma Tarihi:" + java.time.LocalDateTime.now());
+            writer.println("==================================================\n");
+
+            for (PlaceholderStats stat : stats) {
+                writer.println("• %" + (stat.isRelational() ? "rel_" : "") + stat.getExpansion() + "_" + stat.getIdentifier() + "%");
+                writer.println("  Çağrı: " + stat.getInvocations() + " | Hata: " + stat.getErrors()
+                        + " | Toplam: " + formatNanos(stat.getTotalExecutionNanos())
+                        + " | Ortalama: " + formatNanos((long) stat.getMeanExecutionNanos())
+                        + " | p50: ≤" + formatNanos(stat.getExecutionPercentileNanos(0.5))
+                        + " | p99: ≤" + formatNanos(stat.getExecutionPercentileNanos(0.99)));
+                writer.println("  Önbellek: " + stat.getCacheHits() + " isabet, " + stat.getCacheMisses() + " ıskalama, "
+                        + stat.getCacheExpired() + " süresi dolmuş" + String.format(" (%%%.1f)", stat.getHitRatio() * 100));
+                if (stat.getAsyncPending() > 0 || stat.getAsyncRejected() > 0) {
+                    writer.println("  Asenkron: " + stat.getAsyncPending() + " bekleyen, " + stat.getAsyncRejected() + " reddedilen");
+                }
+                if (stat.getMiddlewareInvocations() > 0) {
+                    writer.println("  Middleware: " + stat.getMiddlewareInvocations() + " çağrı | Toplam: " + formatNanos(stat.getTotalMiddlewareNanos())
+                            + " | p99: ≤" + formatNanos(stat.getMiddlewarePercentileNanos(0.99)));
+                }
+                writer.println();
+            }
+            plugin.getLogger().info("Placeholder ölçümleri kaydedildi: " + file.getPath());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Ölçümler kaydedilirken hata meydana geldi.", e);
+        }
+    }
+
+    /**
+     * İzleme tamponundaki istekleri, eskiden yeniye, eklentinin veri klasöründeki bir dosyaya
+     * yazar. İzleme kapalıysa dosya oluşturulmaz.
+     * @param fileName Dosya adı (örn: "traces.txt").
+     */
+    @SuppressWarnings("unused")
+    public void dumpTraces(String fileName) {
+        if (tracer == null) {
+            plugin.getLogger().warning("İzleme kapalı; withTracing veya withDebugMode ile etkinleştirin.");
+            return;
+        }
+        if (!plugin.getDataFolder().exists()) {
+            boolean ignored = plugin.getDataFolder().mkdirs();
+        }
+        List<RequestTracer.Trace> traces = tracer.snapshot();
+
+        File file = new File(plugin.getDataFolder(), fileName);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println("=== " + plugin.getName() + " Placeholder İstek İzleri ===");
+            writer.println("Oluşturulma Tarihi:" + java.time.LocalDateTime.now());
+            writer.println("İz Sayısı: " + traces.size());
+            writer.println("==================================================\n");
+
+            for (RequestTracer.Trace trace : traces) {
+                writer.println(trace.format());
+            }
+            plugin.getLogger().info("Placeholder istek izleri kaydedildi: " + file.getPath());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "İstek izleri kaydedilirken hata meydana geldi.", e);
+        }
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos == Long.MAX_VALUE) return "∞";
+        if (nanos < 1_000_000L) return String.format("%.1f µs", nanos / 1_000.0);
+        return String.format("%.2f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Bir placeholder grubunun önbelleğini tamamen temizler.
+     * @param expansion Grubun tanımlayıcısı ({@code @Placeholder} identifier).
+     */
+    public void invalidate(String expansion) {
+        invalidate(expansion, null, null, null);
+    }
+
+    /**
+     * Bir placeholder'ın tüm oyunculara ait önbellek kayıtlarını siler.
+     * @param expansion Grubun tanımlayıcısı ({@code @Placeholder} identifier).
+     * @param identifier Placeholder tanımlayıcısı.
+     */
+    public void invalidate(String expansion, String identifier) {
+        invalidate(expansion, identifier, null, null);
+    }
+
+    /**
+     * Bir placeholder'ın tek bir oyuncuya ait önbellek kayıtlarını siler.
+     * @param expansion Grubun tanımlayıcısı ({@code @Placeholder} identifier).
+     * @param identifier Placeholder tanımlayıcısı.
+     * @param player Oyuncunun UUID'si.
+     */
+    public void invalidate(String expansion, String identifier, UUID player) {
+        invalidate(expansion, identifier, player, null);
+    }
+
+    /**
+     * Eşleşen önbellek kayıtlarını siler. {@code expansion} dışındaki parametreler null
+     * olabilir; null olan ölçüt her şeyle eşleşir. Silinen değerler bir sonraki istekte yeniden
+     * hesaplanır; silme anında devam eden hesaplamaların sonuçları önbelleğe yazılmaz.
+     * @param expansion Grubun tanımlayıcısı ({@code @Placeholder} identifier).
+     * @param identifier Placeholder tanımlayıcısı.
+     * @param player Yalnızca bu oyuncunun kayıtları; ilişkisel placeholder'larda görüntüleyen veya hedef olarak.
+     * @param argumentFilter Yalnızca argümanı bu koşulu sağlayan kayıtlar (örn: {@code arg -> arg.startsWith("kills")}).
+     */
+    public void invalidate(String expansion, String identifier, UUID player, Predicate<String> argumentFilter) {
+        String placeholder = identifier == null ? null : identifier.toLowerCase();
+        for (PlaceholderExpansion registered : registeredExpansions) {
+            if (registered instanceof DynamicExpansion && registered.getIdentifier().equalsIgnoreCase(expansion)) {
+                ((DynamicExpansion) registered).invalidate(placeholder, player, argumentFilter);
+            }
+        }
+    }
+
+    /**
+     * Oyuncunun önbellekteki {@code @RequirePermission} kararlarını siler; yetkileri bir sonraki
+     * istekte yeniden sorulur.
+     * @param player Oyuncunun UUID'si; null ise tüm oyuncular.
+     */
+    public void invalidatePermissions(UUID player) {
+        if (permissionCache == null) return;
+        if (player == null) {
+            permissionCache.clear();
+        } else {
+            permissionCache.invalidate(player);
+        }
+    }
+
+    /**
+     * Bir oyuncunun tüm gruplardaki önbellek kayıtlarını ve yetki kararlarını siler.
+     * @param player Oyuncunun UUID'si.
+     */
+    public void invalidatePlayer(UUID player) {
+        invalidatePermissions(player);
+        for (PlaceholderExpansion registered : registeredExpansions) {
+            if (registered instanceof DynamicExpansion) {
+                ((DynamicExpansion) registered).invalidate(null, player, null);
+            }
+        }
+    }
+
     public void unregisterAll() {
+        if (listenerRegistered) {
+            HandlerList.unregisterAll(playerListener);
+            listenerRegistered = false;
+        }
+        if (!invalidations.isEmpty()) {
+            HandlerList.unregisterAll(invalidationListener);
+            invalidations.clear();
+        }
+        if (permissionEventsRegistered) {
+            HandlerList.unregisterAll(permissionListener);
+            permissionEventsRegistered = false;
+        }
+        if (permissionCache != null) {
+            permissionCache.clear();
+        }
+        if (clockTask != null) {
+            clockTask.cancel();
+            clockTask = null;
+        }
+        if (slowLogTask != null) {
+            slowLogTask.cancel();
+            slowLogTask = null;
+            tracer.flushSlow();
+        }
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+            asyncExecutor = null;
+        }
+        if (sharedCacheTask != null) {
+            sharedCacheTask.cancel();
+            sharedCacheTask = null;
+        }
+        if (sharedCache != null) {
+            sharedCache.close();
+            sharedCache = null;
+        }
+        if (cacheSnapshotTask != null) {
+            cacheSnapshotTask.cancel();
+            cacheSnapshotTask = null;
+        }
+        saveCacheSnapshots();
         if (!registeredExpansions.isEmpty()) {
             plugin.getLogger().info(registeredExpansions.size() + " adet placeholder grubu kaldırılıyor...");
             for (PlaceholderExpansion expansion : registeredExpansions) {
@@ -165,7 +767,7 @@ public final class BenthPAPIManager {
                     if (expansion instanceof DynamicExpansion) {
                         ((DynamicExpansion) expansion).shutdown();
                     }
-                    expansion.unregister();
+                    expansionRegistry.unregister(expansion);
                 } catch (Exception e) {
                     plugin.getLogger().log(Level.WARNING, "'" + expansion.getIdentifier() + "' placeholder'ı kaldırılırken bir hata oluştu.", e);
                 }
@@ -180,8 +782,25 @@ public final class BenthPAPIManager {
 
         final Map<String, PlaceholderMethod> standardMethods = new HashMap<>();
         final Map<String, PlaceholderMethod> relationalMethods = new HashMap<>();
+        createMethods(classes, standardMethods, relationalMethods);
+
+        Placeholder placeholderInfo = classes.get(0).getAnnotation(Placeholder.class);
+        return new DynamicExpansion(plugin, placeholderInfo, standardMethods, relationalMethods, this.globalErrorText, tracer(),
+                new CacheLimits(cacheByteWeighted, maxCachePerExpansion, maxCacheGlobal, maxCachedArguments, globalCacheWeight), clock, asyncExecutor(),
+                sharedCache(), permissionCache(), tickBudget());
+    }
 
+    /**
+     * Grubun sınıflarını örnekler ve placeholder metotlarını tanımlayıcılarına göre haritalara ekler.
+     */
+    private void createMethods(List<Class<?>> classes, Map<String, PlaceholderMethod> standardMethods,
+                               Map<String, PlaceholderMethod> relationalMethods) throws Exception {
         for (Class<?> clazz : classes) {
+            PlaceholderDispatcher dispatcher = generatedDispatcher(clazz);
+            if (dispatcher != null && registerGenerated(clazz, dispatcher, standardMethods, relationalMethods)) {
+                continue;
+            }
+
             Object instance;
             try {
                 instance = clazz.getDeclaredConstructor().newInstance();
@@ -195,379 +814,337 @@ public final class BenthPAPIManager {
 
             for (Method method : clazz.getMethods()) {
                 if (method.isAnnotationPresent(PlaceholderIdentifier.class)) {
-                    String identifier = method.getAnnotation(PlaceholderIdentifier.class).identifier().toLowerCase();
-                    standardMethods.put(identifier, new PlaceholderMethod(method, instance));
+                    PlaceholderMethod pMethod = createMethod(method, instance, false, null, -1);
+                    standardMethods.put(pMethod.identifier, pMethod);
                 }
                 if (method.isAnnotationPresent(RelationalPlaceholder.class)) {
-                    String id = method.getAnnotation(RelationalPlaceholder.class).identifier().toLowerCase();
-                    relationalMethods.put(id, new PlaceholderMethod(method, instance));
+                    PlaceholderMethod rMethod = createMethod(method, instance, true, null, -1);
+                    relationalMethods.put(rMethod.identifier, rMethod);
                 }
             }
         }
-
-        Placeholder placeholderInfo = classes.get(0).getAnnotation(Placeholder.class);
-        return new DynamicExpansion(plugin, placeholderInfo, standardMethods, relationalMethods, this.globalErrorText, this.debugMode);
     }
 
-    private void handleInjections(Class<?> clazz, Object instance) throws IllegalAccessException {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                field.setAccessible(true);
-                Class<?> fieldType = field.getType();
-
-                if (injectables.containsKey(fieldType)) {
-                    field.set(instance, injectables.get(fieldType));
-                }
-                else if (JavaPlugin.class.isAssignableFrom(fieldType)) {
-                    field.set(instance, this.plugin);
-                }
-                else {
-                    plugin.getLogger().warning("Enjeksiyon hatası: '" + clazz.getSimpleName() + "' sınıfındaki '" +
-                            field.getName() + "' alanı için '" + fieldType.getSimpleName() +
-                            "' tipinde kaydedilmiş bir nesne bulunamadı.");
-                }
-            }
+    /**
+     * Sınıf için derleme zamanında üretilmiş dağıtıcıyı yükler.
+     * @return Dağıtıcı; üretilmemişse veya yüklenemezse null.
+     */
+    private PlaceholderDispatcher generatedDispatcher(Class<?> clazz) {
+        String name = clazz.getName();
+        int dot = name.lastIndexOf('.');
+        String generatedName = name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_') + PlaceholderDispatcher.SUFFIX;
+        try {
+            Class<?> generated = Class.forName(generatedName, true, clazz.getClassLoader());
+            if (!PlaceholderDispatcher.class.isAssignableFrom(generated)) return null;
+            return (PlaceholderDispatcher) generated.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "'" + generatedName + "' yüklenemedi, '" + clazz.getSimpleName() + "' yansıma ile kaydedilecek.", e);
+            return null;
         }
     }
 
-    private static final class PlaceholderMethod {
-        final Method method;
-        final Object instance;
-        final PlaceholderIdentifier annotation;
-        final RelationalPlaceholder relAnnotation;
-        final Cache cacheInfo;
-        final Middleware middlewareInfo;
-        final RequirePermission permissionInfo;
+    /**
+     * Sınıfı üretilmiş dağıtıcısı ile kaydeder: örnek ve enjeksiyonlar doğrudan, metotlar
+     * tarama yapılmadan dağıtıcının listesinden alınır.
+     * @return Dağıtıcı sınıfla uyuşmuyorsa (eski bir derlemeden kalmışsa) false; bu durumda
+     * hiçbir metot eklenmez ve sınıf yansıma ile kaydedilmelidir.
+     */
+    private boolean registerGenerated(Class<?> clazz, PlaceholderDispatcher dispatcher,
+                                      Map<String, PlaceholderMethod> standardMethods, Map<String, PlaceholderMethod> relationalMethods) {
+        Method[] methods = new Method[dispatcher.size()];
+        try {
+            for (int i = 0; i < methods.length; i++) {
+                methods[i] = clazz.getMethod(dispatcher.methodName(i), dispatcher.parameterTypes(i));
+            }
+        } catch (NoSuchMethodException e) {
+            plugin.getLogger().warning("'" + clazz.getSimpleName() + "' için üretilmiş dağıtıcı güncel değil (" + e.getMessage()
+                    + "), sınıf yansıma ile kaydedilecek. Projeyi yeniden derleyin.");
+            return false;
+        }
 
-        PlaceholderMethod(Method method, Object instance) {
-            this.method = method;
-            this.instance = instance;
-            this.annotation = method.getAnnotation(PlaceholderIdentifier.class);
-            this.relAnnotation = method.getAnnotation(RelationalPlaceholder.class);
-            this.cacheInfo = method.getAnnotation(Cache.class);
-            this.middlewareInfo = method.getAnnotation(Middleware.class);
-            this.permissionInfo = method.getAnnotation(RequirePermission.class);
+        Object instance = dispatcher.create();
+        dispatcher.inject(instance, (field, type) -> injectable(clazz, field, type));
+        for (int i = 0; i < methods.length; i++) {
+            boolean relational = dispatcher.relational(i);
+            PlaceholderMethod pMethod = createMethod(methods[i], instance, relational, dispatcher, i);
+            (relational ? relationalMethods : standardMethods).put(pMethod.identifier, pMethod);
         }
+        return true;
     }
 
-    private static class DynamicExpansion extends PlaceholderExpansion implements Relational {
-        private static final long DEFAULT_ASYNC_CACHE_MS = 2000L;
-
-        private final JavaPlugin plugin;
-        private final Placeholder placeholderInfo;
-        final Map<String, PlaceholderMethod> standardMethods;
-        final Map<String, PlaceholderMethod> relationalMethods;
-        private final String defaultErrorText;
-        private final boolean debug;
-
-        private final BukkitTask cleanupTask;
-        private final Map<Class<?>, PlaceholderMiddleware> middlewareInstances = new ConcurrentHashMap<>();
-        private final Map<String, CachedResult> cache = new ConcurrentHashMap<>();
-        private final Set<String> pendingTasks = ConcurrentHashMap.newKeySet();
-
-        DynamicExpansion(JavaPlugin plugin, Placeholder info, Map<String, PlaceholderMethod> standardMethods, Map<String, PlaceholderMethod> relationalMethods, String defaultErrorText, boolean debug) {
-            this.plugin = plugin;
-            this.placeholderInfo = info;
-            this.standardMethods = standardMethods;
-            this.relationalMethods = relationalMethods;
-            this.defaultErrorText = defaultErrorText;
-            this.debug = debug;
-
-            this.cleanupTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::cleanupCache, 1200L, 1200L);
+    private PlaceholderMethod createMethod(Method method, Object instance, boolean relational, PlaceholderDispatcher dispatcher, int index) {
+        PlaceholderMethod pMethod = new PlaceholderMethod(method, instance, relational, asyncConcurrencyLimit, middlewares, dispatcher, index);
+        if (pMethod.binding == PlaceholderMethod.Binding.UNSUPPORTED) {
+            plugin.getLogger().warning("'" + method.getDeclaringClass().getSimpleName() + "#" + method.getName() +
+                    "' metodunun parametreleri desteklenmiyor; bu placeholder her zaman hata metni döndürecek.");
         }
-
-        public void shutdown() {
-            if (cleanupTask != null && !cleanupTask.isCancelled()) {
-                cleanupTask.cancel();
-            }
-            cache.clear();
-            pendingTasks.clear();
+        if (pMethod.permissionInfo != null && permissionCache() != null) {
+            pMethod.permissionSlot = permissionCache.slot(pMethod.permissionInfo.value());
         }
-
-        private void cleanupCache() {
-            if (cache.isEmpty()) return;
-            cache.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        if (pMethod.refreshInfo == null && method.isAnnotationPresent(Refresh.class)) {
+            plugin.getLogger().warning("'" + method.getDeclaringClass().getSimpleName() + "#" + method.getName() +
+                    "' metodundaki @Refresh yok sayıldı; yalnızca parametresiz veya tek String argümanlı metotlarda ve pozitif bir aralıkla kullanılabilir.");
         }
+        return pMethod;
+    }
 
-        @Override public @NotNull String getIdentifier() { return placeholderInfo.identifier(); }
-        @Override public @NotNull String getAuthor() { return placeholderInfo.author(); }
-        @Override public @NotNull String getVersion() { return placeholderInfo.version(); }
-        @Override public boolean persist() { return true; }
-
-        @Override
-        public String onPlaceholderRequest(Player one, Player two, String params) {
-            if (one == null || two == null) return null;
-
-            for (Map.Entry<String, PlaceholderMethod> entry : relationalMethods.entrySet()) {
-                String id = entry.getKey();
-                if (params.equalsIgnoreCase(id) || params.toLowerCase().startsWith(id + "_")) {
-                    String arg = params.length() > id.length() ? params.substring(id.length() + 1) : null;
-                    return handleRelational(one, two, entry.getValue(), arg, params);
+    /**
+     * {@link InvalidateOn} ile işaretli metotlar için olay dinleyicilerini kaydeder. Her olay
+     * sınıfı için tek bir dinleyici kaydedilir; o olayı bekleyen tüm placeholder'lar ona eklenir.
+     */
+    private void registerInvalidations(DynamicExpansion expansion) {
+        List<PlaceholderMethod> methods = new ArrayList<>(expansion.standardMethods().values());
+        methods.addAll(expansion.relationalMethods().values());
+        for (PlaceholderMethod pm : methods) {
+            if (pm.invalidateInfo == null) continue;
+            boolean perPlayer = pm.relAnnotation != null || pm.cacheScope == CacheScope.PER_PLAYER;
+            for (Class<? extends Event> eventType : pm.invalidateInfo.value()) {
+                List<InvalidationTarget> targets = invalidations.get(eventType);
+                if (targets == null) {
+                    try {
+                        plugin.getServer().getPluginManager().registerEvent(eventType, invalidationListener, EventPriority.MONITOR,
+                                (listener, event) -> onInvalidatingEvent(eventType, event), plugin, true);
+                    } catch (RuntimeException e) {
+                        plugin.getLogger().log(Level.WARNING, "'" + pm.method.getDeclaringClass().getSimpleName() + "#" + pm.method.getName()
+                                + "' için '" + eventType.getSimpleName() + "' olayı dinlenemedi.", e);
+                        continue;
+                    }
+                    targets = new CopyOnWriteArrayList<>();
+                    invalidations.put(eventType, targets);
                 }
+                targets.add(new InvalidationTarget(expansion, pm.identifier, perPlayer));
             }
-            return null;
-        }
-
-        private String getErrorText(PlaceholderMethod method) {
-            if (method.annotation != null && !method.annotation.onError().isEmpty()) {
-                return method.annotation.onError();
-            }
-            return this.defaultErrorText;
         }
+    }
 
-        private String getRelationalErrorText(PlaceholderMethod method) {
-            if (method.relAnnotation != null && !method.relAnnotation.onError().isEmpty()) {
-                return method.relAnnotation.onError();
-            }
-            return this.defaultErrorText;
+    /**
+     * Genişlemenin olay hedeflerini kaldırır. Olay dinleyicileri kayıtlı kalır; hedefi kalmayan
+     * olaylar yok sayılır.
+     */
+    private void unregisterInvalidations(DynamicExpansion expansion) {
+        for (List<InvalidationTarget> targets : invalidations.values()) {
+            targets.removeIf(target -> target.expansion == expansion);
         }
+    }
 
-        @Override
-        public String onRequest(OfflinePlayer player, @NotNull String params) {
-            if (debug) {
-                plugin.getLogger().info(String.format("[DEBUG] Placeholder request: %%%s_%s%% for player %s",
-                        getIdentifier(), params, (player != null ? player.getName() : "null")));
-            }
-
-            String matchedId = null;
-            PlaceholderMethod matchedMethod = null;
+    private void onInvalidatingEvent(Class<? extends Event> eventType, Event event) {
+        if (!eventType.isInstance(event)) return;
+        List<InvalidationTarget> targets = invalidations.get(eventType);
+        if (targets == null) return;
 
-            for (Map.Entry<String, PlaceholderMethod> entry : standardMethods.entrySet()) {
-                String id = entry.getKey();
-                if (params.equalsIgnoreCase(id) || params.toLowerCase().startsWith(id + "_")) {
-                    if (matchedId == null || id.length() > matchedId.length()) {
-                        matchedId = id;
-                        matchedMethod = entry.getValue();
-                    }
-                }
-            }
+        UUID player = affectedPlayer(event);
+        for (InvalidationTarget target : targets) {
+            target.expansion.invalidate(target.identifier, target.perPlayer ? player : null, null);
+        }
+    }
 
-            if (matchedMethod != null) {
-                String argument = params.length() > matchedId.length() ? params.substring(matchedId.length() + 1) : null;
-                return handleStandard(player, matchedMethod, argument, params);
-            }
+    /**
+     * Olaydan etkilenen oyuncuyu bulur.
+     * @return Oyuncunun UUID'si; olay bir oyuncuya bağlı değilse null.
+     */
+    private UUID affectedPlayer(Event event) {
+        if (event instanceof PlayerEvent) {
+            Player player = ((PlayerEvent) event).getPlayer();
+            return player != null ? player.getUniqueId() : null;
+        }
+        if (event instanceof EntityEvent) {
+            Object entity = ((EntityEvent) event).getEntity();
+            return entity instanceof Player ? ((Player) entity).getUniqueId() : null;
+        }
 
+        Optional<Method> getter = playerGetters.computeIfAbsent(event.getClass(), BenthPAPIManager::findPlayerGetter);
+        if (!getter.isPresent()) return null;
+        try {
+            Object player = getter.get().invoke(event);
+            return player instanceof OfflinePlayer ? ((OfflinePlayer) player).getUniqueId() : null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
             return null;
         }
+    }
 
-        private String handleStandard(OfflinePlayer viewer, PlaceholderMethod pMethod, String arg, String fullParams) {
-            if (pMethod.permissionInfo != null) {
-                if (viewer == null || !viewer.isOnline()) {
-                    return pMethod.permissionInfo.onDeny();
-                }
-                if (viewer.getPlayer() != null && !viewer.getPlayer().hasPermission(pMethod.permissionInfo.value())) {
-                    return pMethod.permissionInfo.onDeny();
-                }
-            }
-
-            String cacheKey = "std:" + (viewer != null ? viewer.getUniqueId() : "null") + ":" + fullParams;
-
-            CachedResult cached = cache.get(cacheKey);
-            long duration = pMethod.cacheInfo != null
-                    ? pMethod.cacheInfo.unit().toMillis(pMethod.cacheInfo.duration())
-                    : DEFAULT_ASYNC_CACHE_MS;
+    private static Optional<Method> findPlayerGetter(Class<?> eventType) {
+        try {
+            Method method = eventType.getMethod("getPlayer");
+            return OfflinePlayer.class.isAssignableFrom(method.getReturnType()) ? Optional.of(method) : Optional.empty();
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
 
-            if (cached != null && !cached.isExpired()) {
-                return cached.value;
-            }
+    /**
+     * @return Yöneticiye ait izleyici; izleme kapalıysa null.
+     */
+    private RequestTracer tracer() {
+        if (tracer == null && (traceSampleEvery > 0 || slowRequestNanos > 0)) {
+            tracer = new RequestTracer(plugin.getLogger(), traceSampleEvery, traceCapacity, slowRequestNanos);
+        }
+        return tracer;
+    }
 
-            if (pMethod.annotation.async()) {
-                if (pendingTasks.contains(cacheKey)) {
-                    return cached != null ? cached.value : pMethod.annotation.onLoading();
-                }
+    /**
+     * @return Yöneticiye ait tick bütçesi; {@link #withTickBudget} kullanılmadıysa null.
+     */
+    private TickBudget tickBudget() {
+        if (tickBudget == null && (tickBudgetPerCallNanos > 0 || tickBudgetPerTickNanos > 0)) {
+            tickBudget = new TickBudget(plugin.getLogger(), clock, tickBudgetPerCallNanos, tickBudgetPerTickNanos);
+        }
+        return tickBudget;
+    }
 
-                pendingTasks.add(cacheKey);
-                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                    try {
-                        String rawResult = executeStandard(viewer, pMethod, arg);
-                        String finalResult = applyMiddleware(rawResult, pMethod);
-                        cache.put(cacheKey, new CachedResult(finalResult, duration));
-                    } finally {
-                        pendingTasks.remove(cacheKey);
-                    }
-                });
+    /**
+     * @return Yöneticiye ait yetki önbelleği; {@link #withPermissionCache} ile açılmadıysa null.
+     */
+    private PermissionCache permissionCache() {
+        if (permissionCache == null && permissionCacheMillis > 0) {
+            permissionCache = new PermissionCache(clock, permissionCacheMillis);
+        }
+        return permissionCache;
+    }
 
-                return cached != null ? cached.value : pMethod.annotation.onLoading();
+    /**
+     * Yetki önbelleğindeki kararlar için olay dinleyicilerini kaydeder.
+     */
+    private void registerPermissionEvents() {
+        for (Class<? extends Event> eventType : permissionEvents) {
+            try {
+                plugin.getServer().getPluginManager().registerEvent(eventType, permissionListener, EventPriority.MONITOR,
+                        (listener, event) -> {
+                            if (!eventType.isInstance(event)) return;
+                            UUID player = affectedPlayer(event);
+                            if (player != null) {
+                                permissionCache.invalidate(player);
+                            } else {
+                                permissionCache.clear();
+                            }
+                        }, plugin, true);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Yetki önbelleği için '" + eventType.getSimpleName() + "' olayı dinlenemedi.", e);
             }
+        }
+    }
 
-            String rawResult = executeStandard(viewer, pMethod, arg);
-            String finalResult = applyMiddleware(rawResult, pMethod);
-
-            if (pMethod.cacheInfo != null) {
-                cache.put(cacheKey, new CachedResult(finalResult, duration));
-            }
+    /**
+     * @return Yöneticiye ait paylaşılan önbellek; {@link #withSharedCache} kullanılmadıysa null.
+     */
+    private SharedCache sharedCache() {
+        if (sharedCache == null && sharedBackend != null) {
+            sharedCache = new SharedCache(sharedBackend, plugin.getLogger());
+            sharedCache.subscribe(message -> {
+                DynamicExpansion expansion = findExpansion(message.namespace);
+                if (expansion != null) expansion.invalidateLocal(message.identifier);
+            });
+        }
+        return sharedCache;
+    }
 
-            return finalResult;
+    private AsyncExecutor asyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = new AsyncExecutor(plugin.getLogger(), plugin.getName(), asyncThreads, asyncQueueCapacity);
         }
+        return asyncExecutor;
+    }
 
-        private String handleRelational(Player one, Player two, PlaceholderMethod rMethod, String arg, String fullParams) {
-            if (rMethod.permissionInfo != null) {
-                if (!one.hasPermission(rMethod.permissionInfo.value())) {
-                    return rMethod.permissionInfo.onDeny();
+    private void handleInjections(Class<?> clazz, Object instance) throws IllegalAccessException {
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                field.setAccessible(true);
+                Object value = injectable(clazz, field.getName(), field.getType());
+                if (value != null) {
+                    field.set(instance, value);
                 }
             }
+        }
+    }
 
-            String cacheKey = "rel:" + one.getUniqueId() + ":" + two.getUniqueId() + ":" + fullParams;
-
-            CachedResult cached = cache.get(cacheKey);
-            long duration = rMethod.cacheInfo != null
-                    ? rMethod.cacheInfo.unit().toMillis(rMethod.cacheInfo.duration())
-                    : DEFAULT_ASYNC_CACHE_MS;
-
-            if (cached != null && !cached.isExpired()) {
-                return cached.value;
-            }
-
-            if (rMethod.relAnnotation.async()) {
-                if (pendingTasks.contains(cacheKey)) {
-                    return cached != null ? cached.value : rMethod.relAnnotation.onLoading();
-                }
-
-                pendingTasks.add(cacheKey);
-                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                    try {
-                        String rawResult = executeRelational(one, two, rMethod, arg);
-                        String finalResult = applyMiddleware(rawResult, rMethod);
-                        cache.put(cacheKey, new CachedResult(finalResult, duration));
-                    } finally {
-                        pendingTasks.remove(cacheKey);
-                    }
-                });
+    /**
+     * @return Alana atanacak nesne; kaydedilmiş bir nesne yoksa uyarı loglanır ve null döner.
+     */
+    private Object injectable(Class<?> clazz, String fieldName, Class<?> fieldType) {
+        if (injectables.containsKey(fieldType)) {
+            return injectables.get(fieldType);
+        }
+        if (JavaPlugin.class.isAssignableFrom(fieldType)) {
+            return this.plugin;
+        }
+        plugin.getLogger().warning("Enjeksiyon hatası: '" + clazz.getSimpleName() + "' sınıfındaki '" +
+                fieldName + "' alanı için '" + fieldType.getSimpleName() +
+                "' tipinde kaydedilmiş bir nesne bulunamadı.");
+        return null;
+    }
 
-                return cached != null ? cached.value : rMethod.relAnnotation.onLoading();
+    /**
+     * Oluşturulan genişlemeleri yayına alan ve kaldıran işlem.
+     */
+    interface ExpansionRegistry {
+        /**
+         * Genişlemeleri PlaceholderAPI'ye kaydeder.
+         */
+        ExpansionRegistry PLACEHOLDER_API = new ExpansionRegistry() {
+            @Override
+            public boolean register(PlaceholderExpansion expansion) {
+                return expansion.register();
             }
 
-            String rawResult = executeRelational(one, two, rMethod, arg);
-            String finalResult = applyMiddleware(rawResult, rMethod);
-
-            if (rMethod.cacheInfo != null) {
-                cache.put(cacheKey, new CachedResult(finalResult, duration));
+            @Override
+            public void unregister(PlaceholderExpansion expansion) {
+                expansion.unregister();
             }
+        };
 
-            return finalResult;
-        }
+        boolean register(PlaceholderExpansion expansion);
 
-        private String applyMiddleware(String rawResult, PlaceholderMethod pMethod) {
-            if (pMethod.middlewareInfo == null || rawResult == null) {
-                return rawResult == null ? "" : rawResult;
-            }
-
-            Object currentResult = rawResult;
-            try {
-                for (Class<? extends PlaceholderMiddleware> middlewareClass : pMethod.middlewareInfo.value()) {
-                    PlaceholderMiddleware middleware = middlewareInstances.computeIfAbsent(middlewareClass, clazz -> {
-                        try {
-                            return (PlaceholderMiddleware) clazz.getDeclaredConstructor().newInstance();
-                        } catch (Exception e) {
-                            plugin.getLogger().log(Level.SEVERE, "Middleware sınıfı başlatılamadı: " + clazz.getName(), e);
-                            return null;
-                        }
-                    });
+        void unregister(PlaceholderExpansion expansion);
+    }
 
-                    if (middleware != null) {
-                        currentResult = middleware.process(currentResult);
-                        if (currentResult == null) return "";
-                    }
-                }
-            } catch (Exception e) {
-                plugin.getLogger().log(Level.WARNING, "Middleware uygulanırken hata oluştu (" + pMethod.method.getName() + ")", e);
-                return getErrorText(pMethod);
-            }
+    /**
+     * {@link InvalidateOn} olayları çalışma zamanında belirlendiği için işleyicileri
+     * {@code registerEvent} ile bu nesneye bağlanır; kaldırılırken tek seferde çözülebilirler.
+     */
+    private static final class InvalidationListener implements Listener {
+    }
 
-            return String.valueOf(currentResult);
+    /**
+     * Bir olay gerçekleştiğinde önbelleği silinecek placeholder.
+     */
+    private static final class InvalidationTarget {
+        final DynamicExpansion expansion;
+        final String identifier;
+        final boolean perPlayer;
+
+        InvalidationTarget(DynamicExpansion expansion, String identifier, boolean perPlayer) {
+            this.expansion = expansion;
+            this.identifier = identifier;
+            this.perPlayer = perPlayer;
         }
+    }
 
-        private String executeStandard(OfflinePlayer viewer, PlaceholderMethod pMethod, String argument) {
-            try {
-                Method method = pMethod.method;
-                Object instance = pMethod.instance;
-                Object result = null;
-                int count = method.getParameterCount();
-                Class<?>[] paramTypes = method.getParameterTypes();
-
-                if (count == 0) {
-                    result = method.invoke(instance);
-                } else if (count == 1) {
-                    Class<?> type = paramTypes[0];
-                    if (type == String.class) {
-                        result = method.invoke(instance, argument);
-                    }
-                    else if (OfflinePlayer.class.isAssignableFrom(type)) {
-                        result = method.invoke(instance, viewer);
-                    }
-                    else if (Player.class.isAssignableFrom(type)) {
-                        if (viewer != null && viewer.isOnline()) {
-                            result = method.invoke(instance, viewer.getPlayer());
-                        } else {
-                            return "";
-                        }
-                    } else {
-                        return getErrorText(pMethod);
-                    }
-                } else if (count == 2) {
-                    Object pArg = null;
-                    Class<?> type = paramTypes[0];
-
-                    if (OfflinePlayer.class.isAssignableFrom(type)) {
-                        pArg = viewer;
-                    } else if (Player.class.isAssignableFrom(type)) {
-                        if (viewer != null && viewer.isOnline()) pArg = viewer.getPlayer();
-                    }
-
-                    if (pArg != null) {
-                        result = method.invoke(instance, pArg, argument);
-                    } else if (Player.class.isAssignableFrom(type)) {
-                        return "";
-                    }
+    /**
+     * Oyuncu çıkışlarında, ilgili oyuncunun tüm önbellek bölümlerini kayıtlı her
+     * genişlemeden ve yetki kararlarını hemen kaldırır. Girişlerde, önbellek dosyasından henüz yüklenmemiş
+     * kayıtlarını diğer eklentilerin giriş işleyicilerinden önce yükler.
+     */
+    private final class PlayerListener implements Listener {
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onJoin(PlayerJoinEvent event) {
+            UUID playerId = event.getPlayer().getUniqueId();
+            for (PlaceholderExpansion expansion : registeredExpansions) {
+                if (expansion instanceof DynamicExpansion) {
+                    ((DynamicExpansion) expansion).restorePlayer(playerId);
                 }
-
-                return result == null ? "" : String.valueOf(result);
-            } catch (Exception e) {
-                logError(pMethod.method, e);
-                return getErrorText(pMethod);
             }
         }
 
-        private String executeRelational(Player one, Player two, PlaceholderMethod rMethod, String argument) {
-            try {
-                Method method = rMethod.method;
-                Object result;
-
-                if (method.getParameterCount() == 3) {
-                    result = method.invoke(rMethod.instance, one, two, argument);
-                } else {
-                    result = method.invoke(rMethod.instance, one, two);
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            UUID playerId = event.getPlayer().getUniqueId();
+            invalidatePermissions(playerId);
+            for (PlaceholderExpansion expansion : registeredExpansions) {
+                if (expansion instanceof DynamicExpansion) {
+                    ((DynamicExpansion) expansion).evictPlayer(playerId);
                 }
-                return result == null ? "" : String.valueOf(result);
-            } catch (Exception e) {
-                logError(rMethod.method, e);
-                return getRelationalErrorText(rMethod);
             }
         }
-
-        private void logError(Method method, Exception e) {
-            Throwable cause = e.getCause() != null ? e.getCause() : e;
-            plugin.getLogger().log(Level.WARNING, "--- BenthPAPI Hata Raporu ---");
-            plugin.getLogger().warning("Placeholder: %" + getIdentifier() + "_...");
-            plugin.getLogger().warning("İşleyen Sınıf: " + method.getDeclaringClass().getSimpleName());
-            plugin.getLogger().warning("İşleyen Metot: " + method.getName());
-            plugin.getLogger().warning("Hata Tipi: " + cause.getClass().getSimpleName());
-            plugin.getLogger().log(Level.WARNING, "Hata Mesajı ve Stack Trace:", cause);
-            plugin.getLogger().warning("---------------------------------");
-        }
-    }
-
-    private static class CachedResult {
-        final String value;
-        final long expireAt;
-
-        CachedResult(String value, long durationMillis) {
-            this.value = value;
-            this.expireAt = System.currentTimeMillis() + durationMillis;
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() > expireAt;
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Birden fazla sunucu arasında paylaşılan ikinci seviye (L2) önbellek.
+ * <p>
+ * Her sunucu yine kendi bellek içi önbelleğini (L1) kullanır; L1'de bulunamayan değerler hesaplanmadan
+ * önce bu arka uçta aranır, hesaplanan değerler ise diğer sunucuların kullanabilmesi için buraya
+ * yazılır. Yalnızca {@code async = true} ve {@code CacheScope.GLOBAL} kapsamlı {@code @Cache}
+ * placeholder'lar paylaşılır; bu sayede arka uç hiçbir zaman ana thread'den çağrılmaz.
+ * <p>
+ * Okumalar ve yazmalar her tick toplanıp tek bir {@link #getAll} / {@link #putAll} çağrısıyla
+ * gönderilir. Metotlar yöneticinin tek bir asenkron thread'inden sırayla çağrılır; abonelere gelen
+ * mesajlar ise arka ucun kendi thread'inden iletilebilir.
+ *
+ * @see InMemoryCacheBackend
+ */
+public interface CacheBackend {
+
+    /**
+     * @return Bulunan ve süresi dolmamış kayıtlar; bulunamayan anahtarlar haritada yer almaz.
+     */
+    Map<Key, Entry> getAll(Collection<Key> keys) throws Exception;
+
+    void putAll(Map<Key, Entry> entries) throws Exception;
+
+    /**
+     * Eşleşen kayıtları siler ve mesajı diğer sunuculara iletir. Mesaj, gönderen sunucunun
+     * abonelerine geri iletilmemelidir.
+     */
+    void invalidate(Invalidation message) throws Exception;
+
+    /**
+     * Diğer sunuculardan gelen geçersiz kılma mesajlarını dinler.
+     */
+    void subscribe(Consumer<Invalidation> listener);
+
+    /**
+     * {@link BenthPAPIManager#unregisterAll()} sırasında, bekleyen yazmalar gönderildikten sonra çağrılır.
+     */
+    default void close() {
+    }
+
+    /**
+     * Paylaşılan bir kaydın anahtarı.
+     */
+    final class Key {
+        /** Placeholder grubunun tanımlayıcısı. */
+        public final String namespace;
+        /** Placeholder tanımlayıcısı (küçük harf). */
+        public final String identifier;
+        /** Argüman; argümansız placeholder'larda null. */
+        public final String argument;
+
+        public Key(String namespace, String identifier, String argument) {
+            this.namespace = Objects.requireNonNull(namespace, "namespace");
+            this.identifier = Objects.requireNonNull(identifier, "identifier");
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return namespace.equals(other.namespace) && identifier.equals(other.identifier) && Objects.equals(argument, other.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = namespace.hashCode();
+            h = 31 * h + identifier.hashCode();
+            return 31 * h + Objects.hashCode(argument);
+        }
+
+        /**
+         * @return Ağ üzerindeki arka uçlarda anahtar olarak kullanılabilecek tekil metin
+         * (örn: {@code benth:myplugin:top:=1}).
+         */
+        @Override
+        public String toString() {
+            return "benth:" + namespace + ":" + identifier + (argument == null ? "" : ":=" + argument);
+        }
+    }
+
+    /**
+     * Paylaşılan bir placeholder sonucu. Zamanlar, sunucular arasında karşılaştırılabilmesi için
+     * {@link System#currentTimeMillis()} cinsindendir.
+     */
+    final class Entry {
+        public final String value;
+        /** Bu zamandan sonra değer hâlâ sunulabilir ancak yeniden hesaplanmalıdır. */
+        public final long refreshAt;
+        /** Bu zamandan sonra değer kullanılmaz. */
+        public final long expireAt;
+
+        public Entry(String value, long refreshAt, long expireAt) {
+            this.value = Objects.requireNonNull(value, "value");
+            this.refreshAt = refreshAt;
+            this.expireAt = expireAt;
+        }
+
+        public boolean isExpired(long now) {
+            return now > expireAt;
+        }
+    }
+
+    /**
+     * Bir placeholder grubunun bir veya tüm tanımlayıcılarının kayıtlarını geçersiz kılan mesaj.
+     * Argüman filtreleri sunucular arasında taşınamadığından tanımlayıcının tüm argümanları silinir.
+     */
+    final class Invalidation {
+        public final String namespace;
+        /** Tanımlayıcı; null ise grubun tüm kayıtları. */
+        public final String identifier;
+
+        public Invalidation(String namespace, String identifier) {
+            this.namespace = Objects.requireNonNull(namespace, "namespace");
+            this.identifier = identifier;
+        }
+
+        public boolean matches(Key key) {
+            return namespace.equals(key.namespace) && (identifier == null || identifier.equals(key.identifier));
+        }
+    }
+}
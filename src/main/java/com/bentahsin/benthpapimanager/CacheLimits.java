@@ -0,0 +1,44 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Önbellek sınırlarının kayıt anındaki değişmez görüntüsü.
+ * <p>
+ * Sınırlar ya kayıt sayısı ya da tahmini bayt cinsindendir. Genel sınır, aynı
+ * yöneticiye ait tüm genişlemelerin paylaştığı {@link #globalWeight} sayacı ile uygulanır.
+ */
+final class CacheLimits {
+    static final long UNLIMITED = Long.MAX_VALUE;
+
+    final boolean byteWeighted;
+    final long perExpansion;
+    final long global;
+    final int argumentsPerPlaceholder;
+    final AtomicLong globalWeight;
+
+    CacheLimits(boolean byteWeighted, long perExpansion, long global, int argumentsPerPlaceholder, AtomicLong globalWeight) {
+        this.byteWeighted = byteWeighted;
+        this.perExpansion = perExpansion > 0 ? perExpansion : UNLIMITED;
+        this.global = global > 0 ? global : UNLIMITED;
+        this.argumentsPerPlaceholder = argumentsPerPlaceholder > 0 ? argumentsPerPlaceholder : Integer.MAX_VALUE;
+        this.globalWeight = globalWeight;
+    }
+
+    /**
+     * Bir kaydın sınırlara karşı sayılan ağırlığı. Bayt modunda String içerikleri,
+     * kayıt nesnesi ve map düğümü için kaba bir tahmin kullanılır.
+     */
+    int weigh(String value, String argument) {
+        if (!byteWeighted) return 1;
+        int bytes = 96 + 40 + 2 * value.length();
+        if (argument != null) {
+            bytes += 40 + 2 * argument.length();
+        }
+        return bytes;
+    }
+
+    boolean isGlobalExceeded() {
+        return global != UNLIMITED && globalWeight.get() > global;
+    }
+}
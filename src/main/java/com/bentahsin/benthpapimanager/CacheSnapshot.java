@@ -0,0 +1,335 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.CacheScope;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bir {@link DynamicExpansion}'ın önbelleğini yeniden başlatmalar arasında korumak için yazılan
+ * ikili dosya ve bu dosyadan geri yükleme.
+ * <p>
+ * Dosya açılışta bir kez, bütünüyle okunur ve kapatılır; bellek eşlemesi kullanılmaz. Tüm
+ * oyuncuların paylaştığı kayıtlar (global, dünya bazlı, oyuncusuz) hemen önbelleğe yüklenir.
+ * Oyuncu ve ilişkisel kayıtlar ham halleriyle heap'teki tek bir diziye kopyalanır, konumlarıyla
+ * indekslenir ve oyuncu sunucuya girdiğinde çözülür; bu dizi tüm bekleyen kayıtlar kadar yer
+ * kaplar. Dosya açık veya eşlemeli tutulmadığı için bir sonraki yazım onu her platformda (Windows
+ * dahil) değiştirebilir. Süresi dolmamış kayıtlar kalan süreleriyle yüklenir. Sunucu kapalıyken süresi dolmuş ancak {@link #MAX_STALE_MS}'den eski
+ * olmayan kayıtlar eski değer olarak yüklenir; ilk istekte sunulur ve arka planda yeniden
+ * hesaplanır.
+ * <p>
+ * Her placeholder'ın önbellek özeti ({@link PlaceholderMethod#cacheFingerprint}) de yazılır;
+ * özeti değişen veya kaldırılan placeholder'ların kayıtları yüklenmez.
+ * <p>
+ * Biçim: {@code MAGIC, VERSION, tanımlayıcı tablosu, kayıtlar, END}. Her kayıt sabit uzunluklu
+ * bir başlık (tür, sahip, hedef, tanımlayıcı sırası, yenileme ve bitiş zamanı) ile argüman ve
+ * değer metninden oluşur.
+ */
+final class CacheSnapshot {
+    private static final int MAGIC = 0x42504331;
+    private static final int VERSION = 1;
+
+    /**
+     * Süresi dolmuş bir kaydın eski değer olarak sunulabileceği süre.
+     */
+    static final long STALE_GRACE_MS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Süresi bundan daha önce dolmuş kayıtlar yüklenmez.
+     */
+    static final long MAX_STALE_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final byte END = -1;
+    private static final byte GLOBAL = 0;
+    private static final byte ANONYMOUS = 1;
+    private static final byte WORLD = 2;
+    private static final byte PLAYER = 3;
+    private static final byte RELATIONAL = 4;
+
+    private final ByteBuffer buffer;
+    private final String[] identifiers;
+    private final Map<UUID, int[]> pending;
+    private final long usefulUntil;
+    private final Set<String> invalidatedIdentifiers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> invalidatedPlayers = ConcurrentHashMap.newKeySet();
+
+    private CacheSnapshot(ByteBuffer buffer, String[] identifiers, Map<UUID, int[]> pending, long usefulUntil) {
+        this.buffer = buffer;
+        this.identifiers = identifiers;
+        this.pending = pending;
+        this.usefulUntil = usefulUntil;
+    }
+
+    /**
+     * Önbelleği dosyaya yazar. Dosya önce geçici bir dosyaya yazılır, sonra yerine taşınır.
+     * @param unrestored Henüz geri yüklenmemiş kayıtları da yeni dosyaya aktarılacak önceki dosya; yoksa null.
+     */
+    static void write(File file, ResultCache cache, Map<String, PlaceholderMethod> standard, Map<String, PlaceholderMethod> relational,
+                      CacheSnapshot unrestored, long now) throws IOException {
+        Map<String, Integer> standardIndex = new HashMap<>();
+        Map<String, Integer> relationalIndex = new HashMap<>();
+        List<CachedResult> entries = new ArrayList<>();
+        cache.forEach(entries::add);
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(standard.size() + relational.size());
+            for (PlaceholderMethod pMethod : standard.values()) {
+                standardIndex.put(pMethod.identifier, standardIndex.size() + relationalIndex.size());
+                writeIdentifier(out, pMethod, false);
+            }
+            for (PlaceholderMethod pMethod : relational.values()) {
+                relationalIndex.put(pMethod.identifier, standardIndex.size() + relationalIndex.size());
+                writeIdentifier(out, pMethod, true);
+            }
+
+            for (CachedResult entry : entries) {
+                if (entry.isExpired(now)) continue;
+                ResultCache.Partition partition = entry.slot.partition;
+                boolean isRelational = partition.target != null;
+                Integer index = (isRelational ? relationalIndex : standardIndex).get(entry.slot.identifier);
+                if (index == null) continue;
+
+                byte tag;
+                if (isRelational) {
+                    tag = RELATIONAL;
+                } else if (partition.owner == ResultCache.GLOBAL) {
+                    tag = GLOBAL;
+                } else if (partition.owner == ResultCache.ANONYMOUS) {
+                    tag = ANONYMOUS;
+                } else if (standard.get(entry.slot.identifier).cacheScope == CacheScope.PER_WORLD) {
+                    tag = WORLD;
+                } else {
+                    tag = PLAYER;
+                }
+                UUID owner = partition.owner instanceof UUID ? (UUID) partition.owner : null;
+                writeRecord(out, tag, owner, partition.target, index, entry.refreshAt, entry.expireAt, entry.argument, entry.value);
+            }
+
+            if (unrestored != null) {
+                unrestored.writePending(out, standardIndex, relationalIndex, now);
+            }
+            out.writeByte(END);
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Dosyayı okur, paylaşılan kayıtları önbelleğe yükler ve oyuncu kayıtlarını belleğe kopyalayıp
+     * indeksler.
+     * @return Oyuncular girdikçe yüklenecek kayıtlar; yoksa null.
+     * @throws IOException Dosya okunamazsa veya biçimi tanınmazsa.
+     */
+    static CacheSnapshot open(File file, Map<String, PlaceholderMethod> standard, Map<String, PlaceholderMethod> relational,
+                              ResultCache cache, long now) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Tanınmayan önbellek dosyası biçimi.");
+            }
+
+            String[] identifiers = new String[in.getInt()];
+            for (int i = 0; i < identifiers.length; i++) {
+                String identifier = readString(in);
+                boolean isRelational = in.get() != 0;
+                String fingerprint = readString(in);
+                PlaceholderMethod pMethod = (isRelational ? relational : standard).get(identifier);
+                identifiers[i] = pMethod != null && pMethod.cacheFingerprint.equals(fingerprint) ? identifier : null;
+            }
+
+            Map<UUID, List<Integer>> offsets = new HashMap<>();
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            long usefulUntil = 0L;
+            while (true) {
+                int offset = in.position();
+                byte tag = in.get();
+                if (tag == END) break;
+
+                UUID owner = tag >= WORLD ? new UUID(in.getLong(), in.getLong()) : null;
+                UUID target = tag == RELATIONAL ? new UUID(in.getLong(), in.getLong()) : null;
+                int index = in.getInt();
+                long refreshAt = in.getLong();
+                long expireAt = in.getLong();
+                String identifier = index >= 0 && index < identifiers.length ? identifiers[index] : null;
+                boolean usable = identifier != null && now - expireAt <= MAX_STALE_MS;
+
+                if (tag == PLAYER || tag == RELATIONAL) {
+                    skipString(in);
+                    skipString(in);
+                    if (usable) {
+                        offsets.computeIfAbsent(owner, k -> new ArrayList<>()).add(records.size());
+                        records.write(bytes, offset, in.position() - offset);
+                        usefulUntil = Math.max(usefulUntil, expireAt + MAX_STALE_MS);
+                    }
+                } else {
+                    String argument = readString(in);
+                    String value = readString(in);
+                    if (usable) {
+                        restore(cache, tag, owner, null, identifier, argument, value, refreshAt, expireAt, now);
+                    }
+                }
+            }
+
+            if (offsets.isEmpty()) return null;
+            Map<UUID, int[]> pending = new ConcurrentHashMap<>(offsets.size() * 2);
+            for (Map.Entry<UUID, List<Integer>> entry : offsets.entrySet()) {
+                pending.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            return new CacheSnapshot(ByteBuffer.wrap(records.toByteArray()), identifiers, pending, usefulUntil);
+        } catch (RuntimeException e) {
+            throw new IOException("Önbellek dosyası bozuk: " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Oyuncunun görüntüleyen olduğu kayıtları önbelleğe yükler. Her oyuncu en fazla bir kez yüklenir.
+     */
+    void restore(UUID player, ResultCache cache, long now) {
+        int[] offsets = pending.remove(player);
+        if (offsets == null) return;
+
+        ByteBuffer in = buffer.duplicate();
+        for (int offset : offsets) {
+            in.position(offset);
+            byte tag = in.get();
+            UUID owner = new UUID(in.getLong(), in.getLong());
+            UUID target = tag == RELATIONAL ? new UUID(in.getLong(), in.getLong()) : null;
+            String identifier = identifiers[in.getInt()];
+            long refreshAt = in.getLong();
+            long expireAt = in.getLong();
+            String argument = readString(in);
+            String value = readString(in);
+            if (invalidatedIdentifiers.contains(identifier) || (target != null && invalidatedPlayers.contains(target))) continue;
+            restore(cache, tag, owner, target, identifier, argument, value, refreshAt, expireAt, now);
+        }
+    }
+
+    /**
+     * Önbellek geçersiz kılındığında, henüz yüklenmemiş eşleşen kayıtların da yüklenmesini önler.
+     * Null olan ölçütler her şeyle eşleşir.
+     */
+    void invalidate(UUID player, String identifier) {
+        if (identifier != null) {
+            invalidatedIdentifiers.add(identifier);
+        } else if (player != null) {
+            pending.remove(player);
+            invalidatedPlayers.add(player);
+        } else {
+            pending.clear();
+        }
+    }
+
+    /**
+     * @return Yüklenecek kayıt kalmadıysa veya kalan kayıtların tümü artık kullanılamayacak kadar eskiyse true.
+     */
+    boolean isExhausted(long now) {
+        return pending.isEmpty() || now > usefulUntil;
+    }
+
+    private void writePending(DataOutputStream out, Map<String, Integer> standardIndex, Map<String, Integer> relationalIndex, long now) throws IOException {
+        ByteBuffer in = buffer.duplicate();
+        for (int[] offsets : pending.values()) {
+            for (int offset : offsets) {
+                in.position(offset);
+                byte tag = in.get();
+                UUID owner = new UUID(in.getLong(), in.getLong());
+                UUID target = tag == RELATIONAL ? new UUID(in.getLong(), in.getLong()) : null;
+                String identifier = identifiers[in.getInt()];
+                long refreshAt = in.getLong();
+                long expireAt = in.getLong();
+                String argument = readString(in);
+                String value = readString(in);
+
+                Integer index = (tag == RELATIONAL ? relationalIndex : standardIndex).get(identifier);
+                if (index == null || now - expireAt > MAX_STALE_MS || invalidatedIdentifiers.contains(identifier)) continue;
+                if (target != null && invalidatedPlayers.contains(target)) continue;
+                writeRecord(out, tag, owner, target, index, refreshAt, expireAt, argument, value);
+            }
+        }
+    }
+
+    private static void restore(ResultCache cache, byte tag, UUID owner, UUID target, String identifier, String argument, String value,
+                                long refreshAt, long expireAt, long now) {
+        if (now > expireAt) {
+            refreshAt = now - 1;
+            expireAt = now + STALE_GRACE_MS;
+        }
+        Object key = tag == GLOBAL ? ResultCache.GLOBAL : tag == ANONYMOUS ? ResultCache.ANONYMOUS : owner;
+        cache.restore(key, target, identifier, argument, value, refreshAt, expireAt);
+    }
+
+    private static void writeIdentifier(DataOutputStream out, PlaceholderMethod pMethod, boolean isRelational) throws IOException {
+        writeString(out, pMethod.identifier);
+        out.writeBoolean(isRelational);
+        writeString(out, pMethod.cacheFingerprint);
+    }
+
+    private static void writeRecord(DataOutputStream out, byte tag, UUID owner, UUID target, int index, long refreshAt, long expireAt,
+                                    String argument, String value) throws IOException {
+        out.writeByte(tag);
+        if (tag >= WORLD) {
+            out.writeLong(owner.getMostSignificantBits());
+            out.writeLong(owner.getLeastSignificantBits());
+        }
+        if (tag == RELATIONAL) {
+            out.writeLong(target.getMostSignificantBits());
+            out.writeLong(target.getLeastSignificantBits());
+        }
+        out.writeInt(index);
+        out.writeLong(refreshAt);
+        out.writeLong(expireAt);
+        writeString(out, argument);
+        writeString(out, value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+}
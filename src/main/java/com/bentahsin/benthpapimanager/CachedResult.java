@@ -0,0 +1,62 @@
+package com.bentahsin.benthpapimanager;
+
+/**
+ * Önbellekteki tek bir placeholder sonucu ve son geçerlilik zamanı.
+ * <p>
+ * Aynı nesne, {@link ResultCache} içindeki konumunu, {@link EvictionPolicy} listelerindeki ve
+ * {@link TimerWheel} kovasındaki bağlantılarını da taşır; bu alanlar yalnızca önbellek kilidi
+ * altında değiştirilir.
+ */
+final class CachedResult {
+    final String value;
+    final long expireAt;
+    final long refreshAt;
+
+    final ResultCache.Slot slot;
+    final String argument;
+    final int weight;
+    final int frequencyKey;
+
+    volatile boolean referenced;
+    int region;
+    CachedResult prev;
+    CachedResult next;
+    CachedResult wheelPrev;
+    CachedResult wheelNext;
+
+    CachedResult(String value, long refreshAt, long expireAt, ResultCache.Slot slot, String argument, int weight, int frequencyKey) {
+        this.value = value;
+        this.refreshAt = refreshAt;
+        this.expireAt = expireAt;
+        this.slot = slot;
+        this.argument = argument;
+        this.weight = weight;
+        this.frequencyKey = frequencyKey;
+    }
+
+    /**
+     * {@link TimerWheel} kovalarının başı olarak kullanılan, kendi kendine bağlı boş düğüm.
+     */
+    static CachedResult sentinel() {
+        CachedResult sentinel = new CachedResult(null, Long.MAX_VALUE, Long.MAX_VALUE, null, null, 0, 0);
+        sentinel.wheelPrev = sentinel;
+        sentinel.wheelNext = sentinel;
+        return sentinel;
+    }
+
+    /**
+     * @param now {@link TickClock} üzerinden okunan şimdiki zaman.
+     */
+    boolean isExpired(long now) {
+        return now > expireAt;
+    }
+
+    /**
+     * Kayıt hâlâ sunulabilir ancak arka planda yeniden hesaplanmalıdır. Yenileme veya
+     * eski değer penceresi tanımlanmamış kayıtlarda, süresi dolana kadar her zaman false'tur.
+     * @param now {@link TickClock} üzerinden okunan şimdiki zaman.
+     */
+    boolean needsRefresh(long now) {
+        return now > refreshAt;
+    }
+}
@@ -0,0 +1,142 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.Map;
+
+/**
+ * Bir placeholder grubunun alt tanımlayıcılarını kayıt anında derlenen, değiştirilemez
+ * bir hash indeksinde tutar.
+ * <p>
+ * Gelen parametre tek geçişte taranır: her '_' sınırında o ana kadar biriken büyük/küçük
+ * harf duyarsız hash ile tabloya bakılır ve en uzun eşleşme seçilir. Arama sırasında
+ * hiçbir nesne oluşturulmaz.
+ *
+ * @param <T> Tanımlayıcıya bağlı değer tipi.
+ */
+final class DispatchIndex<T> {
+
+    /**
+     * İndeksteki tek bir kayıt. Eşleşen tanımlayıcıyı ve bağlı değeri taşır.
+     */
+    static final class Entry<T> {
+        final String key;
+        final T value;
+        final int hash;
+
+        private Entry(String key, T value) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash(key, key.length());
+        }
+
+        /**
+         * Eşleşen tanımlayıcıdan sonra gelen argümanı döndürür.
+         * @param params Eşleşmenin bulunduğu tam parametre.
+         * @return '_' sonrasındaki argüman, yoksa null.
+         */
+        String argument(String params) {
+            return params.length() > key.length() ? params.substring(key.length() + 1) : null;
+        }
+    }
+
+    private final Entry<T>[] table;
+    private final int mask;
+    private final int maxKeyLength;
+
+    @SuppressWarnings("unchecked")
+    private DispatchIndex(Map<String, T> source) {
+        int capacity = 2;
+        while (capacity < source.size() * 2) {
+            capacity <<= 1;
+        }
+        this.table = (Entry<T>[]) new Entry<?>[capacity];
+        this.mask = capacity - 1;
+
+        int longest = -1;
+        for (Map.Entry<String, T> e : source.entrySet()) {
+            Entry<T> entry = new Entry<>(e.getKey(), e.getValue());
+            if (insert(entry)) {
+                longest = Math.max(longest, entry.key.length());
+            }
+        }
+        this.maxKeyLength = longest;
+    }
+
+    static <T> DispatchIndex<T> of(Map<String, T> source) {
+        return new DispatchIndex<>(source);
+    }
+
+    /**
+     * Parametrenin başındaki en uzun tanımlayıcıyı bulur. Tanımlayıcı ya parametrenin
+     * tamamı olmalı ya da ardından '_' gelmelidir.
+     * @param params PlaceholderAPI'den gelen parametre.
+     * @return Eşleşen kayıt, yoksa null.
+     */
+    Entry<T> find(String params) {
+        if (maxKeyLength < 0) return null;
+
+        final int length = params.length();
+        final int scan = Math.min(length, maxKeyLength + 1);
+        Entry<T> best = null;
+        int h = 0;
+
+        for (int i = 0; i < scan; i++) {
+            char c = params.charAt(i);
+            if (c == '_') {
+                Entry<T> candidate = probe(h, params, i);
+                if (candidate != null) best = candidate;
+            }
+            h = 31 * h + fold(c);
+        }
+
+        if (length <= maxKeyLength) {
+            Entry<T> candidate = probe(h, params, length);
+            if (candidate != null) best = candidate;
+        }
+        return best;
+    }
+
+    private Entry<T> probe(int h, String params, int length) {
+        int index = spread(h) & mask;
+        Entry<T> entry;
+        while ((entry = table[index]) != null) {
+            if (entry.hash == h && entry.key.length() == length && params.regionMatches(true, 0, entry.key, 0, length)) {
+                return entry;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private boolean insert(Entry<T> entry) {
+        int index = spread(entry.hash) & mask;
+        Entry<T> existing;
+        while ((existing = table[index]) != null) {
+            if (existing.hash == entry.hash && existing.key.equalsIgnoreCase(entry.key)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = entry;
+        return true;
+    }
+
+    private static int hash(String s, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + fold(s.charAt(i));
+        }
+        return h;
+    }
+
+    /**
+     * {@link String#regionMatches(boolean, int, String, int, int)} ile aynı karşılaştırmayı
+     * yapan karakter katlaması; böylece eşit sayılan iki karakter aynı hash'i üretir.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,1227 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.CacheScope;
+import com.bentahsin.benthpapimanager.annotations.Placeholder;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.Relational;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+
+final class DynamicExpansion extends PlaceholderExpansion implements Relational {
+    private static final long DEFAULT_ASYNC_CACHE_MS = 2000L;
+    private static final long EXPIRY_INTERVAL_TICKS = 20L;
+    private static final long SINGLE_FLIGHT_ASYNC_WAIT_MS = 5000L;
+
+    private final JavaPlugin plugin;
+    private final Placeholder placeholderInfo;
+    private volatile MethodTable methods;
+    private volatile CacheSnapshot warmStart;
+    private final String defaultErrorText;
+    private final RequestTracer tracer;
+
+    private final TickClock clock;
+    private final AsyncExecutor executor;
+    private final BukkitTask expiryTask;
+    private final ResultCache cache;
+    private final SharedCache sharedCache;
+    private final PermissionCache permissions;
+    private final TickBudget tickBudget;
+    private final Set<PendingKey> pendingTasks = ConcurrentHashMap.newKeySet();
+    private final Map<PendingKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<PlaceholderMethod, Set<String>> batchArguments = new ConcurrentHashMap<>();
+    private volatile List<BukkitTask> scheduledTasks = Collections.emptyList();
+    private final int maxTrackedArguments;
+
+    DynamicExpansion(JavaPlugin plugin, Placeholder info, Map<String, PlaceholderMethod> standardMethods, Map<String, PlaceholderMethod> relationalMethods, String defaultErrorText, RequestTracer tracer, CacheLimits cacheLimits, TickClock clock, AsyncExecutor executor, SharedCache sharedCache, PermissionCache permissions, TickBudget tickBudget) {
+        this.plugin = plugin;
+        this.placeholderInfo = info;
+        this.methods = new MethodTable(standardMethods, relationalMethods);
+        this.defaultErrorText = defaultErrorText;
+        this.tracer = tracer;
+        this.clock = clock;
+        this.executor = executor;
+        this.cache = new ResultCache(cacheLimits, clock);
+        this.sharedCache = sharedCache;
+        this.permissions = permissions;
+        this.tickBudget = tickBudget;
+        this.maxTrackedArguments = cacheLimits.argumentsPerPlaceholder;
+
+        this.expiryTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, cache::expire, EXPIRY_INTERVAL_TICKS, EXPIRY_INTERVAL_TICKS);
+        this.scheduledTasks = schedule(standardMethods);
+    }
+
+    Map<String, PlaceholderMethod> standardMethods() {
+        return methods.standard;
+    }
+
+    Map<String, PlaceholderMethod> relationalMethods() {
+        return methods.relational;
+    }
+
+    private List<BukkitTask> schedule(Map<String, PlaceholderMethod> standardMethods) {
+        List<BukkitTask> tasks = new ArrayList<>();
+        for (PlaceholderMethod pMethod : standardMethods.values()) {
+            if (pMethod.batchInfo != null && pMethod.batchInfo.refresh() > 0 && pMethod.binding != PlaceholderMethod.Binding.UNSUPPORTED) {
+                long period = Math.max(1L, pMethod.batchInfo.unit().toMillis(pMethod.batchInfo.refresh()) / 50L);
+                tasks.add(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> refreshBatch(pMethod), 1L, period));
+            }
+            if (pMethod.refreshInfo != null) {
+                long period = Math.max(1L, pMethod.refreshInfo.unit().toMillis(pMethod.refreshInfo.interval()) / 50L);
+                tasks.add(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> refreshSnapshot(pMethod), 0L, period));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Grubun metot tablolarını, eklenti PlaceholderAPI'ye kayıtlı kalırken tek seferde yenileriyle
+     * değiştirir. İstekler değişimden önce veya sonra tablolardan yalnızca birini görür.
+     * <p>
+     * İmzası ve önbellek ayarları değişmeyen tanımlayıcıların ({@link PlaceholderMethod#cacheCompatible})
+     * önbellek kayıtları, yayımlanmış anlık değerleri ve toplu argümanları korunur; diğerlerinin
+     * kayıtları silinir. Devam eden asenkron hesaplamalar eski örnekle tamamlanır. Ölçümler yeni
+     * metotlar için sıfırdan başlar.
+     * @return Önbelleği korunan tanımlayıcı sayısı.
+     */
+    int reload(Map<String, PlaceholderMethod> standardMethods, Map<String, PlaceholderMethod> relationalMethods) {
+        MethodTable previous = methods;
+        Set<String> stale = new HashSet<>();
+        int retained = 0;
+        retained += carryOver(previous.standard, standardMethods, stale);
+        retained += carryOver(previous.relational, relationalMethods, stale);
+
+        List<BukkitTask> previousTasks = scheduledTasks;
+        methods = new MethodTable(standardMethods, relationalMethods);
+        previousTasks.forEach(BukkitTask::cancel);
+        scheduledTasks = schedule(standardMethods);
+
+        CacheSnapshot pending = warmStart;
+        for (String identifier : stale) {
+            cache.invalidate(null, identifier, null);
+            if (pending != null) pending.invalidate(null, identifier);
+        }
+        return retained;
+    }
+
+    /**
+     * Uyumlu metotların durumunu yeni sürüme aktarır; kaldırılan veya değişen tanımlayıcıları
+     * {@code stale}'e ekler.
+     * @return Durumu aktarılan metot sayısı.
+     */
+    private int carryOver(Map<String, PlaceholderMethod> previous, Map<String, PlaceholderMethod> next, Set<String> stale) {
+        int retained = 0;
+        for (PlaceholderMethod old : previous.values()) {
+            PlaceholderMethod replacement = next.get(old.identifier);
+            if (replacement == null || !replacement.cacheCompatible(old)) {
+                stale.add(old.identifier);
+                batchArguments.remove(old);
+                continue;
+            }
+            replacement.snapshot.set(old.snapshot.get());
+            Set<String> arguments = batchArguments.remove(old);
+            if (arguments != null) {
+                batchArguments.put(replacement, arguments);
+            }
+            retained++;
+        }
+        return retained;
+    }
+
+    public void shutdown() {
+        if (expiryTask != null && !expiryTask.isCancelled()) {
+            expiryTask.cancel();
+        }
+        scheduledTasks.forEach(BukkitTask::cancel);
+        scheduledTasks = Collections.emptyList();
+        batchArguments.clear();
+        warmStart = null;
+        cache.clear();
+        pendingTasks.clear();
+    }
+
+    /**
+     * Oyuncunun tüm önbellek bölümünü, periyodik temizliği beklemeden kaldırır.
+     * @param playerId Sunucudan çıkan oyuncunun UUID'si.
+     */
+    void evictPlayer(UUID playerId) {
+        cache.evictOwner(playerId);
+    }
+
+    /**
+     * Önbelleği dosyaya yazar. Önceki başlangıçtan kalan ve henüz yüklenmemiş oyuncu kayıtları
+     * da korunur.
+     */
+    void saveCache(File file) throws IOException {
+        long now = clock.now();
+        CacheSnapshot pending = warmStart;
+        if (pending != null && pending.isExhausted(now)) {
+            warmStart = pending = null;
+        }
+        MethodTable table = methods;
+        CacheSnapshot.write(file, cache, table.standard, table.relational, pending, now);
+    }
+
+    /**
+     * Önceki çalışmadan kalan önbellek dosyasını açar. Paylaşılan kayıtlar hemen yüklenir; oyuncu
+     * kayıtları {@link #restorePlayer} ile oyuncu girdiğinde yüklenir. Ana thread dışında çağrılmalıdır.
+     */
+    void loadCache(File file) throws IOException {
+        MethodTable table = methods;
+        warmStart = CacheSnapshot.open(file, table.standard, table.relational, cache, clock.now());
+    }
+
+    void restorePlayer(UUID playerId) {
+        CacheSnapshot pending = warmStart;
+        if (pending == null) return;
+        long now = clock.now();
+        if (pending.isExhausted(now)) {
+            warmStart = null;
+            return;
+        }
+        pending.restore(playerId, cache, now);
+    }
+
+    /**
+     * Eşleşen önbellek kayıtlarını siler; zamanlanmış yenilenen placeholder'lar hemen yeniden
+     * hesaplanır. Null olan ölçütler her şeyle eşleşir.
+     * @param identifier Placeholder tanımlayıcısı (küçük harf).
+     * @param player Yalnızca bu oyuncunun kayıtları.
+     * @param argumentFilter Yalnızca argümanı bu koşulu sağlayan kayıtlar.
+     */
+    void invalidate(String identifier, UUID player, Predicate<String> argumentFilter) {
+        cache.invalidate(player, identifier, argumentFilter);
+        CacheSnapshot pending = warmStart;
+        if (pending != null) pending.invalidate(player, identifier);
+        boolean shared = false;
+        for (PlaceholderMethod pMethod : methods.standard.values()) {
+            if (identifier == null || identifier.equals(pMethod.identifier)) {
+                if (pMethod.refreshInfo != null) refreshSnapshot(pMethod);
+                shared |= isShared(pMethod);
+            }
+        }
+        if (shared && player == null) {
+            sharedCache.invalidate(new CacheBackend.Invalidation(getIdentifier(), identifier));
+        }
+    }
+
+    /**
+     * Başka bir sunucudan gelen geçersiz kılma mesajını uygular; mesaj yeniden yayımlanmaz.
+     * @param identifier Placeholder tanımlayıcısı; null ise grubun tüm kayıtları.
+     */
+    void invalidateLocal(String identifier) {
+        cache.invalidate(null, identifier, null);
+        CacheSnapshot pending = warmStart;
+        if (pending != null) pending.invalidate(null, identifier);
+    }
+
+    @Override public @NotNull String getIdentifier() { return placeholderInfo.identifier(); }
+    @Override public @NotNull String getAuthor() { return placeholderInfo.author(); }
+    @Override public @NotNull String getVersion() { return placeholderInfo.version(); }
+    @Override public boolean persist() { return true; }
+
+    @Override
+    public String onPlaceholderRequest(Player one, Player two, String params) {
+        if (one == null || two == null) return null;
+
+        RequestTracer.Span span = tracer != null ? tracer.begin(getIdentifier(), one, two, params, true) : null;
+        if (span == null) return resolveRelational(one, two, params);
+        try {
+            return resolveRelational(one, two, params);
+        } finally {
+            tracer.end(span);
+        }
+    }
+
+    private String resolveRelational(Player one, Player two, String params) {
+        DispatchIndex.Entry<PlaceholderMethod> match = methods.relationalIndex.find(params);
+        traceDispatch(match);
+        if (match == null) return null;
+
+        return handleRelational(one, two, match.value, match.argument(params));
+    }
+
+    private String getErrorText(PlaceholderMethod method) {
+        if (method.annotation != null && !method.annotation.onError().isEmpty()) {
+            return method.annotation.onError();
+        }
+        return this.defaultErrorText;
+    }
+
+    private String getRelationalErrorText(PlaceholderMethod method) {
+        if (method.relAnnotation != null && !method.relAnnotation.onError().isEmpty()) {
+            return method.relAnnotation.onError();
+        }
+        return this.defaultErrorText;
+    }
+
+    @Override
+    public String onRequest(OfflinePlayer player, @NotNull String params) {
+        RequestTracer.Span span = tracer != null ? tracer.begin(getIdentifier(), player, null, params, false) : null;
+        if (span == null) return resolveStandard(player, params);
+        try {
+            return resolveStandard(player, params);
+        } finally {
+            tracer.end(span);
+        }
+    }
+
+    private String resolveStandard(OfflinePlayer player, String params) {
+        DispatchIndex.Entry<PlaceholderMethod> match = methods.standardIndex.find(params);
+        traceDispatch(match);
+        if (match == null) return null;
+
+        return handleStandard(player, match.value, match.argument(params));
+    }
+
+    private String handleStandard(OfflinePlayer viewer, PlaceholderMethod pMethod, String arg) {
+        if (pMethod.permissionInfo != null) {
+            if (viewer == null || !viewer.isOnline()) {
+                traceOutcome(RequestTracer.Outcome.DENIED);
+                return pMethod.permissionInfo.onDeny();
+            }
+            if (viewer.getPlayer() != null && !hasPermission(viewer.getPlayer(), pMethod)) {
+                traceOutcome(RequestTracer.Outcome.DENIED);
+                return pMethod.permissionInfo.onDeny();
+            }
+        }
+
+        if (pMethod.binding == PlaceholderMethod.Binding.UNSUPPORTED) {
+            traceOutcome(RequestTracer.Outcome.ERROR);
+            return getErrorText(pMethod);
+        }
+
+        if (pMethod.refreshInfo != null) {
+            return handleRefresh(pMethod, arg);
+        }
+
+        if (pMethod.batchInfo != null) {
+            return handleBatch(viewer, pMethod, arg);
+        }
+
+        Object owner = cacheOwner(viewer, pMethod);
+
+        CachedResult cached = cache.get(owner, pMethod.identifier, arg);
+        traceCacheLookup();
+        long duration = pMethod.cacheInfo != null
+                ? pMethod.cacheInfo.unit().toMillis(pMethod.cacheInfo.duration())
+                : DEFAULT_ASYNC_CACHE_MS;
+
+        long now = clock.now();
+        if (cached != null && !cached.needsRefresh(now)) {
+            pMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.HIT);
+            return cached.value;
+        }
+
+        long generation = cache.generation();
+        boolean shared = isShared(pMethod);
+        PendingKey pendingKey = new PendingKey(owner, null, pMethod.identifier, arg);
+        MethodInvoker.Call0 invocation = () -> invokeStandard(viewer, pMethod, arg);
+        BiConsumer<Object, Throwable> store = (value, failure) -> {
+            String finalResult = resolve(pMethod, value, failure);
+            if (!(viewer != null && owner.equals(viewer.getUniqueId()) && hasLeft(viewer))) {
+                cache.put(generation, owner, pMethod.identifier, arg, finalResult, pMethod.refreshAfter(duration), pMethod.expireAfter(duration));
+            }
+            if (shared && failure == null) {
+                publish(generation, pMethod, arg, finalResult, duration);
+            }
+        };
+
+        if (cached != null && !cached.isExpired(now)) {
+            pMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.STALE);
+            if (shared) {
+                loadShared(pendingKey, pMethod, arg, generation, invocation, store);
+            } else {
+                revalidate(pendingKey, pMethod, invocation, store);
+            }
+            return cached.value;
+        }
+        (cached == null ? pMethod.metrics.misses : pMethod.metrics.expired).increment();
+        boolean async = runsAsync(pMethod);
+        traceOutcome(async ? RequestTracer.Outcome.LOADING : RequestTracer.Outcome.MISS);
+
+        if (async) {
+            if (shared) {
+                loadShared(pendingKey, pMethod, arg, generation, invocation, store);
+            } else {
+                loadAsync(pendingKey, pMethod, invocation, store);
+            }
+            return cached != null ? cached.value : pMethod.annotation.onLoading();
+        }
+
+        if (pMethod.cacheInfo == null) {
+            return execute(pMethod, () -> invokeStandard(viewer, pMethod, arg));
+        }
+        return computeOnce(pendingKey, cached, () -> {
+            String finalResult = execute(pMethod, () -> invokeStandard(viewer, pMethod, arg));
+            cache.put(generation, owner, pMethod.identifier, arg, finalResult, pMethod.refreshAfter(duration), pMethod.expireAfter(duration));
+            return finalResult;
+        });
+    }
+
+    /**
+     * Zamanlanmış yenilenen bir placeholder'ın son yayımlanan değerini döndürür. Argüman ilk kez
+     * istendiğinde hesaplanması başlatılır ve sonraki yenilemelere dahil edilir.
+     */
+    private String handleRefresh(PlaceholderMethod pMethod, String arg) {
+        String argument = pMethod.binding == PlaceholderMethod.Binding.NONE ? null : arg;
+        String value = pMethod.snapshot.get().get(argument);
+        if (value != null) {
+            pMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.HIT);
+            return value;
+        }
+
+        pMethod.metrics.misses.increment();
+        traceOutcome(RequestTracer.Outcome.LOADING);
+        loadSnapshot(pMethod, argument);
+        return pMethod.annotation.onLoading();
+    }
+
+    /**
+     * Zamanlanmış yenileme. Argümansız değer ve daha önce istenmiş tüm argümanlar yeniden
+     * hesaplanır. Sonuçlar bir {@link RefreshCycle}'da toplanır ve son hesaplama bittiğinde
+     * yeni anlık görüntü tek bir kopyayla yayımlanır.
+     */
+    private void refreshSnapshot(PlaceholderMethod pMethod) {
+        Snapshot current = pMethod.snapshot.get();
+        RefreshCycle cycle = new RefreshCycle();
+        if (pMethod.binding == PlaceholderMethod.Binding.NONE || current.get(null) != null) {
+            loadSnapshot(pMethod, null, cycle);
+        }
+        for (String argument : current.arguments()) {
+            loadSnapshot(pMethod, argument, cycle);
+        }
+        if (cycle.finish()) publish(pMethod, cycle);
+    }
+
+    private void loadSnapshot(PlaceholderMethod pMethod, String argument) {
+        loadSnapshot(pMethod, argument, null);
+    }
+
+    /**
+     * @param cycle Sonucun ekleneceği yenileme turu; null ise sonuç hemen yayımlanır.
+     */
+    private void loadSnapshot(PlaceholderMethod pMethod, String argument, RefreshCycle cycle) {
+        MethodInvoker.Call0 invocation = pMethod.binding == PlaceholderMethod.Binding.NONE
+                ? pMethod.call0::invoke
+                : () -> pMethod.call1.invoke(argument);
+        if (cycle != null) cycle.remaining.incrementAndGet();
+        boolean started = loadAsync(new PendingKey(ResultCache.GLOBAL, null, pMethod.identifier, argument), pMethod, invocation, (value, failure) -> {
+            String result = resolve(pMethod, value, failure);
+            if (cycle == null) {
+                pMethod.snapshot.updateAndGet(snapshot -> snapshot.with(argument, result, maxTrackedArguments));
+                return;
+            }
+            cycle.add(argument, result);
+            if (cycle.finish()) publish(pMethod, cycle);
+        });
+        if (!started && cycle != null && cycle.finish()) publish(pMethod, cycle);
+    }
+
+    private void publish(PlaceholderMethod pMethod, RefreshCycle cycle) {
+        if (!cycle.valueLoaded && cycle.results.isEmpty()) return;
+        pMethod.snapshot.updateAndGet(snapshot -> snapshot.withAll(cycle.valueLoaded, cycle.value, cycle.results, maxTrackedArguments));
+    }
+
+    /**
+     * Toplu bir placeholder için oyuncunun önbellekteki değerini döndürür. Değer yoksa tüm
+     * çevrimiçi oyuncular için tek bir toplu çözümleme başlatılır. Senkron çözümleme
+     * {@link #computeOnce} ile tekilleştirilir; hesaplamayı bekleyen çağıranlar kendi değerlerini
+     * önbellekten okur. Zamanlanmış bir yenileme sürerken eski değer döndürülür.
+     */
+    private String handleBatch(OfflinePlayer viewer, PlaceholderMethod pMethod, String arg) {
+        Player player = viewer != null ? viewer.getPlayer() : null;
+        if (player == null) return "";
+
+        String argument = pMethod.binding == PlaceholderMethod.Binding.BATCH ? null : arg;
+        CachedResult cached = cache.get(player.getUniqueId(), pMethod.identifier, argument);
+        traceCacheLookup();
+        if (cached != null && !cached.isExpired(clock.now())) {
+            pMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.HIT);
+            return cached.value;
+        }
+        (cached == null ? pMethod.metrics.misses : pMethod.metrics.expired).increment();
+        traceOutcome(pMethod.async ? RequestTracer.Outcome.LOADING : RequestTracer.Outcome.MISS);
+
+        if (argument != null && pMethod.batchInfo.refresh() > 0) {
+            Set<String> arguments = batchArguments.computeIfAbsent(pMethod, k -> ConcurrentHashMap.newKeySet());
+            if (arguments.size() < maxTrackedArguments) {
+                arguments.add(argument);
+            }
+        }
+
+        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
+        if (!players.contains(player)) {
+            players.add(player);
+        }
+
+        UUID playerId = player.getUniqueId();
+        if (pMethod.async) {
+            runBatch(pMethod, argument, players, playerId, true);
+            return cached != null ? cached.value : pMethod.annotation.onLoading();
+        }
+
+        PendingKey batchKey = batchKey(pMethod, argument);
+        if (cached != null && pendingTasks.contains(batchKey)) return cached.value;
+        return computeOnce(batchKey, cached, () -> runBatch(pMethod, argument, players, playerId, false), ignored -> {
+            CachedResult stored = cache.get(playerId, pMethod.identifier, argument);
+            return stored != null && !stored.isExpired(clock.now()) ? stored.value : null;
+        });
+    }
+
+    private static PendingKey batchKey(PlaceholderMethod pMethod, String argument) {
+        return new PendingKey(ResultCache.GLOBAL, null, pMethod.identifier, argument);
+    }
+
+    /**
+     * Toplu metodu verilen oyuncular için çağırır ve sonuçları önbelleğe yazar.
+     * @param async Metot yürütücüde çalıştırılacaksa true; aynı anahtar için devam eden bir
+     *              asenkron çözümleme varsa yenisi başlatılmaz.
+     * @return Senkron çalıştıysa {@code viewerId}'nin sonucu; asenkron çalıştıysa null.
+     */
+    private String runBatch(PlaceholderMethod pMethod, String argument, List<Player> players, UUID viewerId, boolean async) {
+        long generation = cache.generation();
+        MethodInvoker.Call0 invocation = () -> pMethod.binding == PlaceholderMethod.Binding.BATCH
+                ? pMethod.call1.invoke(players)
+                : pMethod.call2.invoke(players, argument);
+
+        if (async) {
+            loadAsync(batchKey(pMethod, argument), pMethod, invocation,
+                    (value, failure) -> storeBatch(generation, pMethod, argument, players, value, failure, null));
+            return null;
+        }
+
+        String[] result = new String[1];
+        invokeAndComplete(pMethod, invocation, (value, failure) -> result[0] = storeBatch(generation, pMethod, argument, players, value, failure, viewerId));
+        return result[0] != null ? result[0] : "";
+    }
+
+    private String storeBatch(long generation, PlaceholderMethod pMethod, String argument, List<Player> players, Object value, Throwable failure, UUID viewerId) {
+        if (failure == null && value != null && !(value instanceof Map)) {
+            failure = new IllegalStateException("Toplu placeholder metodu Map<UUID, ?> döndürmeli, dönen tip: " + value.getClass().getName());
+        }
+        String failed = failure != null ? resolve(pMethod, null, failure) : null;
+        Map<?, ?> results = value instanceof Map ? (Map<?, ?>) value : Collections.emptyMap();
+        long duration = batchDuration(pMethod);
+
+        String viewerResult = null;
+        for (Player player : players) {
+            if (hasLeft(player)) continue;
+            UUID playerId = player.getUniqueId();
+            String result = failed != null ? failed : resolve(pMethod, results.get(playerId), null);
+            cache.put(generation, playerId, pMethod.identifier, argument, result, duration, duration);
+            if (playerId.equals(viewerId)) {
+                viewerResult = result;
+            }
+        }
+        return viewerResult;
+    }
+
+    /**
+     * Zamanlanmış toplu yenileme. Asenkron zamanlayıcıda çalışır ve metot, {@code async}
+     * olmasa da yürütücüde çağrılır; böylece toplu sorgu hiçbir zaman ana thread'de yapılmaz.
+     */
+    private void refreshBatch(PlaceholderMethod pMethod) {
+        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
+        if (players.isEmpty()) return;
+
+        if (pMethod.binding == PlaceholderMethod.Binding.BATCH) {
+            runBatch(pMethod, null, players, null, true);
+            return;
+        }
+        Set<String> arguments = batchArguments.get(pMethod);
+        if (arguments != null) {
+            for (String argument : arguments) {
+                runBatch(pMethod, argument, players, null, true);
+            }
+        }
+    }
+
+    /**
+     * {@link com.bentahsin.benthpapimanager.annotations.Cache} yoksa, zamanlanmış yenilemelerde değerlerin bir sonraki yenilemeye kadar
+     * geçerli kalması için sürenin iki katı kullanılır.
+     */
+    private static long batchDuration(PlaceholderMethod pMethod) {
+        if (pMethod.cacheInfo != null) {
+            return pMethod.cacheInfo.unit().toMillis(pMethod.cacheInfo.duration());
+        }
+        long refresh = pMethod.batchInfo.unit().toMillis(pMethod.batchInfo.refresh());
+        return Math.max(DEFAULT_ASYNC_CACHE_MS, refresh * 2);
+    }
+
+    private boolean hasPermission(Player player, PlaceholderMethod pMethod) {
+        if (permissions != null && pMethod.permissionSlot >= 0) {
+            return permissions.hasPermission(player, pMethod.permissionSlot, pMethod.permissionInfo.value());
+        }
+        return player.hasPermission(pMethod.permissionInfo.value());
+    }
+
+    private String handleRelational(Player one, Player two, PlaceholderMethod rMethod, String arg) {
+        if (rMethod.permissionInfo != null) {
+            if (!hasPermission(one, rMethod)) {
+                traceOutcome(RequestTracer.Outcome.DENIED);
+                return rMethod.permissionInfo.onDeny();
+            }
+        }
+
+        if (rMethod.binding == PlaceholderMethod.Binding.UNSUPPORTED) {
+            traceOutcome(RequestTracer.Outcome.ERROR);
+            return getRelationalErrorText(rMethod);
+        }
+
+        if (rMethod.isRelationalBatch()) {
+            return handleRelationalBatch(one, two, rMethod, arg);
+        }
+
+        boolean swap = swapPair(rMethod, one.getUniqueId(), two.getUniqueId());
+        UUID viewerId = swap ? two.getUniqueId() : one.getUniqueId();
+        UUID targetId = swap ? one.getUniqueId() : two.getUniqueId();
+
+        CachedResult cached = cache.getRelational(viewerId, targetId, rMethod.identifier, arg);
+        traceCacheLookup();
+        long duration = rMethod.cacheInfo != null
+                ? rMethod.cacheInfo.unit().toMillis(rMethod.cacheInfo.duration())
+                : DEFAULT_ASYNC_CACHE_MS;
+
+        long now = clock.now();
+        if (cached != null && !cached.needsRefresh(now)) {
+            rMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.HIT);
+            return cached.value;
+        }
+
+        long generation = cache.generation();
+        PendingKey pendingKey = new PendingKey(viewerId, targetId, rMethod.identifier, arg);
+        MethodInvoker.Call0 invocation = () -> invokeRelational(one, two, rMethod, arg);
+        BiConsumer<Object, Throwable> store = (value, failure) -> {
+            String finalResult = resolve(rMethod, value, failure);
+            if (!hasLeft(one) && !hasLeft(two)) {
+                cache.putRelational(generation, viewerId, targetId, rMethod.identifier, arg, finalResult, rMethod.refreshAfter(duration), rMethod.expireAfter(duration));
+            }
+        };
+
+        if (cached != null && !cached.isExpired(now)) {
+            rMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.STALE);
+            revalidate(pendingKey, rMethod, invocation, store);
+            return cached.value;
+        }
+        (cached == null ? rMethod.metrics.misses : rMethod.metrics.expired).increment();
+        boolean async = runsAsync(rMethod);
+        traceOutcome(async ? RequestTracer.Outcome.LOADING : RequestTracer.Outcome.MISS);
+
+        if (async) {
+            loadAsync(pendingKey, rMethod, invocation, store);
+            return cached != null ? cached.value : rMethod.relAnnotation.onLoading();
+        }
+
+        if (rMethod.cacheInfo == null) {
+            return execute(rMethod, () -> invokeRelational(one, two, rMethod, arg));
+        }
+        return computeOnce(pendingKey, cached, () -> {
+            String finalResult = execute(rMethod, () -> invokeRelational(one, two, rMethod, arg));
+            cache.putRelational(generation, viewerId, targetId, rMethod.identifier, arg, finalResult, rMethod.refreshAfter(duration), rMethod.expireAfter(duration));
+            return finalResult;
+        });
+    }
+
+    /**
+     * Toplu ilişkisel bir placeholder için çiftin önbellekteki değerini döndürür. Değer yoksa
+     * görüntüleyen oyuncu için tüm çevrimiçi hedefler tek bir çağrıda çözümlenir.
+     */
+    private String handleRelationalBatch(Player viewer, Player target, PlaceholderMethod rMethod, String arg) {
+        String argument = rMethod.binding == PlaceholderMethod.Binding.RELATIONAL_BATCH ? null : arg;
+        UUID viewerId = viewer.getUniqueId();
+        UUID targetId = target.getUniqueId();
+        boolean swap = swapPair(rMethod, viewerId, targetId);
+
+        CachedResult cached = swap
+                ? cache.getRelational(targetId, viewerId, rMethod.identifier, argument)
+                : cache.getRelational(viewerId, targetId, rMethod.identifier, argument);
+        traceCacheLookup();
+        if (cached != null && !cached.isExpired(clock.now())) {
+            rMethod.metrics.hits.increment();
+            traceOutcome(RequestTracer.Outcome.HIT);
+            return cached.value;
+        }
+        (cached == null ? rMethod.metrics.misses : rMethod.metrics.expired).increment();
+        traceOutcome(rMethod.async ? RequestTracer.Outcome.LOADING : RequestTracer.Outcome.MISS);
+
+        long generation = cache.generation();
+        List<Player> targets = new ArrayList<>(Bukkit.getOnlinePlayers());
+        if (!targets.contains(target)) {
+            targets.add(target);
+        }
+        MethodInvoker.Call0 invocation = () -> rMethod.binding == PlaceholderMethod.Binding.RELATIONAL_BATCH
+                ? rMethod.call2.invoke(viewer, targets)
+                : rMethod.call3.invoke(viewer, targets, argument);
+
+        if (rMethod.async) {
+            loadAsync(new PendingKey(viewerId, null, rMethod.identifier, argument), rMethod, invocation,
+                    (value, failure) -> storeRelationalBatch(generation, rMethod, viewer, argument, targets, value, failure, null));
+            return cached != null ? cached.value : rMethod.relAnnotation.onLoading();
+        }
+
+        String[] result = new String[1];
+        invokeAndComplete(rMethod, invocation, (value, failure) -> result[0] = storeRelationalBatch(generation, rMethod, viewer, argument, targets, value, failure, targetId));
+        return result[0] != null ? result[0] : "";
+    }
+
+    /**
+     * Toplu ilişkisel sonuçları, görüntüleyen oyuncu ile her hedef için ayrı bir çift olarak
+     * önbelleğe yazar.
+     * @return {@code requestedTarget}'ın sonucu; null verildiyse null.
+     */
+    private String storeRelationalBatch(long generation, PlaceholderMethod rMethod, Player viewer, String argument, List<Player> targets, Object value, Throwable failure, UUID requestedTarget) {
+        if (failure == null && value != null && !(value instanceof Map)) {
+            failure = new IllegalStateException("Toplu ilişkisel placeholder metodu Map<UUID, ?> döndürmeli, dönen tip: " + value.getClass().getName());
+        }
+        String failed = failure != null ? resolve(rMethod, null, failure) : null;
+        Map<?, ?> results = value instanceof Map ? (Map<?, ?>) value : Collections.emptyMap();
+        long duration = rMethod.cacheInfo != null
+                ? rMethod.cacheInfo.unit().toMillis(rMethod.cacheInfo.duration())
+                : DEFAULT_ASYNC_CACHE_MS;
+        if (hasLeft(viewer)) return null;
+
+        UUID viewerId = viewer.getUniqueId();
+        String requestedResult = null;
+        for (Player target : targets) {
+            if (hasLeft(target)) continue;
+            UUID targetId = target.getUniqueId();
+            String result = failed != null ? failed : resolve(rMethod, results.get(targetId), null);
+            if (swapPair(rMethod, viewerId, targetId)) {
+                cache.putRelational(generation, targetId, viewerId, rMethod.identifier, argument, result, rMethod.refreshAfter(duration), rMethod.expireAfter(duration));
+            } else {
+                cache.putRelational(generation, viewerId, targetId, rMethod.identifier, argument, result, rMethod.refreshAfter(duration), rMethod.expireAfter(duration));
+            }
+            if (targetId.equals(requestedTarget)) {
+                requestedResult = result;
+            }
+        }
+        return requestedResult;
+    }
+
+    /**
+     * Simetrik placeholder'larda çift önbelleğe her zaman aynı sırayla yazılır; böylece A-B ve
+     * B-A aynı kaydı paylaşır.
+     * @return Görüntüleyen ve hedefin yer değiştirmesi gerekiyorsa true.
+     */
+    private static boolean swapPair(PlaceholderMethod rMethod, UUID viewerId, UUID targetId) {
+        return rMethod.symmetric && viewerId.compareTo(targetId) > 0;
+    }
+
+    /**
+     * Asenkron bir hesaplama başlatır ve ham sonucu (veya hatayı) {@code complete}'e verir.
+     * Aynı anahtar için devam eden bir hesaplama varsa, placeholder'ın eşzamanlılık sınırı doluysa
+     * veya yürütücü kapasitesi dolduysa hiçbir şey yapılmaz; çağıran taraf eski değeri veya
+     * yükleniyor metnini döndürür.
+     * <p>
+     * {@link CompletionStage} döndüren metotlar yürütücüye gönderilmez: metot çağıran thread'de
+     * çağrılır ve sonuç, aşama tamamlandığında tamamlayan thread üzerinde işlenir. Böylece G/Ç
+     * beklenirken hiçbir thread bloklanmaz. Anahtar ve eşzamanlılık yeri aşama tamamlanana kadar
+     * tutulur.
+     *
+     * @return Hesaplama başlatıldıysa, yani {@code complete} çağrılacaksa true.
+     */
+    private boolean loadAsync(PendingKey pendingKey, PlaceholderMethod pMethod, MethodInvoker.Call0 invocation, BiConsumer<Object, Throwable> complete) {
+        if (!pendingTasks.add(pendingKey)) return false;
+        if (!pMethod.tryAcquireAsync()) {
+            pendingTasks.remove(pendingKey);
+            pMethod.metrics.asyncRejected.increment();
+            return false;
+        }
+
+        pMethod.metrics.asyncPending.increment();
+        Runnable release = () -> {
+            pendingTasks.remove(pendingKey);
+            pMethod.releaseAsync();
+            pMethod.metrics.asyncPending.decrement();
+        };
+
+        if (pMethod.returnsStage) {
+            awaitStage(pMethod, invocation, complete, release);
+            return true;
+        }
+
+        boolean accepted = executor.submit(() -> {
+            try {
+                invokeAndComplete(pMethod, invocation, complete);
+            } finally {
+                release.run();
+            }
+        });
+        if (!accepted) {
+            release.run();
+            pMethod.metrics.asyncRejected.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * Sunucular arasında paylaşılan bir değeri hesaplamadan önce {@link SharedCache}'te arar.
+     * Başka bir sunucunun hesapladığı kayıt kalan süresiyle önbelleğe yazılır; kayıt bulunamazsa
+     * veya yenilenmesi gerekiyorsa değer {@link #loadAsync} ile yerel olarak hesaplanır. Anahtar,
+     * arama süresince de tutulur; böylece aynı değer için tek bir arama yapılır.
+     */
+    private void loadShared(PendingKey pendingKey, PlaceholderMethod pMethod, String argument, long generation,
+                            MethodInvoker.Call0 invocation, BiConsumer<Object, Throwable> complete) {
+        if (!pendingTasks.add(pendingKey)) return;
+        sharedCache.lookup(new CacheBackend.Key(getIdentifier(), pMethod.identifier, argument), entry -> {
+            pendingTasks.remove(pendingKey);
+            long now = System.currentTimeMillis();
+            if (entry != null && !entry.isExpired(now)) {
+                cache.put(generation, ResultCache.GLOBAL, pMethod.identifier, argument, entry.value, entry.refreshAt - now, entry.expireAt - now);
+                if (now <= entry.refreshAt) return;
+            }
+            loadAsync(pendingKey, pMethod, invocation, complete);
+        });
+    }
+
+    /**
+     * Yerel olarak hesaplanan değeri diğer sunucular için paylaşılan önbelleğe yazar. Hesaplama
+     * sırasında önbellek geçersiz kılındıysa yazılmaz.
+     */
+    private void publish(long generation, PlaceholderMethod pMethod, String argument, String value, long duration) {
+        if (!cache.isCurrent(generation, ResultCache.GLOBAL, null, pMethod.identifier)) return;
+        long now = System.currentTimeMillis();
+        sharedCache.put(new CacheBackend.Key(getIdentifier(), pMethod.identifier, argument),
+                new CacheBackend.Entry(value, now + pMethod.refreshAfter(duration), now + pMethod.expireAfter(duration)));
+    }
+
+    /**
+     * Yalnızca asenkron ve {@link CacheScope#GLOBAL} kapsamlı önbelleğe alınan placeholder'lar
+     * paylaşılır; arka uç böylece hiçbir zaman ana thread'de beklenmez.
+     */
+    private boolean isShared(PlaceholderMethod pMethod) {
+        return sharedCache != null && pMethod.async && pMethod.cacheInfo != null && pMethod.cacheScope == CacheScope.GLOBAL
+                && pMethod.refreshInfo == null && pMethod.batchInfo == null;
+    }
+
+    /**
+     * Senkron bir önbellek ıskalamasında, aynı anahtar için aynı anda yalnızca bir çağıranın
+     * hesaplama yapmasını sağlar. Hesaplama sürerken gelen diğer çağıranlara, varsa süresi dolmuş
+     * kaydın değeri döndürülür. Eski değer yoksa ana thread hiç beklemez ve değeri kendisi
+     * hesaplar; diğer thread'ler hesaplamanın sonucunu en fazla
+     * {@link #SINGLE_FLIGHT_ASYNC_WAIT_MS} bekler. Bekleme süresi aşılırsa veya istek hesaplamanın
+     * kendisinden geliyorsa değer tekilleştirilmeden hesaplanır.
+     * @param expired Anahtarın süresi dolmuş kaydı; yoksa null.
+     * @param compute Değeri hesaplayıp önbelleğe yazan işlem.
+     */
+    private String computeOnce(PendingKey pendingKey, CachedResult expired, Supplier<String> compute) {
+        return computeOnce(pendingKey, expired, compute, UnaryOperator.identity());
+    }
+
+    /**
+     * @param waiterResult Bekleyen çağıranın sonucunu, hesaplamanın sonucundan üretir; null
+     *                     dönerse bekleyen çağıran değeri kendisi hesaplar.
+     */
+    private String computeOnce(PendingKey pendingKey, CachedResult expired, Supplier<String> compute, UnaryOperator<String> waiterResult) {
+        Flight flight = new Flight();
+        Flight running = inFlight.putIfAbsent(pendingKey, flight);
+        if (running != null) {
+            if (running.owner == Thread.currentThread()) return compute.get();
+            if (expired != null) return expired.value;
+            if (Bukkit.isPrimaryThread()) return compute.get();
+
+            String result = running.await(SINGLE_FLIGHT_ASYNC_WAIT_MS);
+            if (result != null) result = waiterResult.apply(result);
+            return result != null ? result : compute.get();
+        }
+
+        try {
+            String result = compute.get();
+            flight.result = result;
+            return result;
+        } finally {
+            inFlight.remove(pendingKey, flight);
+            flight.done.countDown();
+        }
+    }
+
+    /**
+     * Hâlâ sunulabilen bir kaydı istek yolunu bekletmeden yeniden hesaplar. Asenkron metotlar
+     * yürütücüde çalışır; senkron metotlar Bukkit API'sine güvenle erişebilmeleri için bir
+     * sonraki tick'te ana thread'de çalıştırılır.
+     */
+    private void revalidate(PendingKey pendingKey, PlaceholderMethod pMethod, MethodInvoker.Call0 invocation, BiConsumer<Object, Throwable> complete) {
+        if (runsAsync(pMethod)) {
+            loadAsync(pendingKey, pMethod, invocation, complete);
+            return;
+        }
+        if (!pendingTasks.add(pendingKey)) return;
+
+        try {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                try {
+                    invokeAndComplete(pMethod, invocation, complete);
+                } finally {
+                    pendingTasks.remove(pendingKey);
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingTasks.remove(pendingKey);
+        }
+    }
+
+    /**
+     * Aşamayı döndüren metodu çağırır; çalışma süresi olarak çağrıdan aşamanın tamamlanmasına
+     * kadar geçen süre kaydedilir.
+     */
+    private static void awaitStage(PlaceholderMethod pMethod, MethodInvoker.Call0 invocation, BiConsumer<Object, Throwable> complete, Runnable release) {
+        long start = System.nanoTime();
+        CompletionStage<?> stage;
+        try {
+            stage = (CompletionStage<?>) invocation.invoke();
+        } catch (Throwable t) {
+            pMethod.metrics.execution.record(System.nanoTime() - start);
+            try {
+                complete.accept(null, t);
+            } finally {
+                release.run();
+            }
+            return;
+        }
+
+        if (stage == null) {
+            pMethod.metrics.execution.record(System.nanoTime() - start);
+            try {
+                complete.accept(null, null);
+            } finally {
+                release.run();
+            }
+            return;
+        }
+
+        stage.whenComplete((value, failure) -> {
+            pMethod.metrics.execution.record(System.nanoTime() - start);
+            try {
+                complete.accept(value, failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+            } finally {
+                release.run();
+            }
+        });
+    }
+
+    private void invokeAndComplete(PlaceholderMethod pMethod, MethodInvoker.Call0 invocation, BiConsumer<Object, Throwable> complete) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = invocation.invoke();
+        } catch (Throwable t) {
+            recordExecution(pMethod, System.nanoTime() - start);
+            complete.accept(null, t);
+            return;
+        }
+        recordExecution(pMethod, System.nanoTime() - start);
+        complete.accept(value, null);
+    }
+
+    /**
+     * Ham sonucu, middleware'den geçirilmiş son metne çevirir. Hata varsa kaydedilir ve
+     * hata metni, sonuç null ise boş metin middleware'den geçirilmeden döndürülür.
+     */
+    private String resolve(PlaceholderMethod pMethod, Object value, Throwable failure) {
+        if (failure != null) {
+            logError(pMethod, failure);
+            traceOutcome(RequestTracer.Outcome.ERROR);
+            return errorText(pMethod);
+        }
+        return value == null ? "" : applyMiddleware(value, pMethod);
+    }
+
+    /**
+     * Kayıt sırasında derlenmiş zinciri uygular. Zincirin ilk adımı metodun ham dönüş değerini
+     * alır; böylece sayısal middleware'ler değeri metne çevrilmeden işleyebilir.
+     */
+    private String applyMiddleware(Object rawResult, PlaceholderMethod pMethod) {
+        if (pMethod.middleware == null) {
+            return rawResult instanceof String ? (String) rawResult : String.valueOf(rawResult);
+        }
+
+        long start = System.nanoTime();
+        try {
+            String result = pMethod.middleware.process(rawResult);
+            return result == null ? "" : result;
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Middleware uygulanırken hata oluştu (" + pMethod.method.getName() + ")", e);
+            traceOutcome(RequestTracer.Outcome.ERROR);
+            return getErrorText(pMethod);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            pMethod.metrics.middleware.record(elapsed);
+            if (tracer != null) {
+                RequestTracer.Span span = tracer.current();
+                if (span != null) span.middlewareNanos += elapsed;
+            }
+        }
+    }
+
+    /**
+     * Metodu çağıran thread'de çalıştırır ve sonucu middleware'den geçirir.
+     */
+    private String execute(PlaceholderMethod pMethod, MethodInvoker.Call0 invocation) {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.invoke();
+        } catch (Throwable t) {
+            recordExecution(pMethod, System.nanoTime() - start);
+            return resolve(pMethod, null, t);
+        }
+        recordExecution(pMethod, System.nanoTime() - start);
+        return resolve(pMethod, result, null);
+    }
+
+    /**
+     * @return Metot asenkron tanımlandıysa veya {@link TickBudget} tarafından asenkron çalıştırılmaya
+     * alındıysa true.
+     */
+    private static boolean runsAsync(PlaceholderMethod pMethod) {
+        return pMethod.async || pMethod.budget.demoted;
+    }
+
+    /**
+     * Toplu metotlar (ilişkisel olanlar dahil) tick bütçesine sayılmaz; nerede çalışacakları
+     * yalnızca {@code async} ayarına bağlıdır ve asenkron çalıştırılmaya alınamazlar.
+     */
+    private void recordExecution(PlaceholderMethod pMethod, long nanos) {
+        pMethod.metrics.execution.record(nanos);
+        if (tickBudget != null && !pMethod.async && pMethod.batchInfo == null && !pMethod.isRelationalBatch()) {
+            tickBudget.record(getIdentifier(), pMethod, nanos);
+        }
+        if (tracer != null) {
+            RequestTracer.Span span = tracer.current();
+            if (span != null) span.executeNanos += nanos;
+        }
+    }
+
+    private void traceDispatch(DispatchIndex.Entry<PlaceholderMethod> match) {
+        if (tracer != null) {
+            RequestTracer.Span span = tracer.current();
+            if (span != null) {
+                span.dispatched();
+                if (match == null) span.outcome = RequestTracer.Outcome.UNKNOWN;
+            }
+        }
+    }
+
+    private void traceCacheLookup() {
+        if (tracer != null) {
+            RequestTracer.Span span = tracer.current();
+            if (span != null) span.cacheNanos = System.nanoTime() - span.start - span.dispatchNanos;
+        }
+    }
+
+    private void traceOutcome(RequestTracer.Outcome outcome) {
+        if (tracer != null) {
+            RequestTracer.Span span = tracer.current();
+            if (span != null) span.outcome = outcome;
+        }
+    }
+
+    private static Object invokeStandard(OfflinePlayer viewer, PlaceholderMethod pMethod, String argument) throws Throwable {
+        switch (pMethod.binding) {
+            case NONE:
+                return pMethod.call0.invoke();
+            case ARGUMENT:
+                return pMethod.call1.invoke(argument);
+            case OFFLINE_PLAYER:
+                return pMethod.call1.invoke(viewer);
+            case PLAYER:
+                if (viewer == null || !viewer.isOnline()) return null;
+                return pMethod.call1.invoke(viewer.getPlayer());
+            case OFFLINE_PLAYER_ARGUMENT:
+                return pMethod.call2.invoke(viewer, argument);
+            case PLAYER_ARGUMENT:
+                if (viewer == null || !viewer.isOnline()) return null;
+                return pMethod.call2.invoke(viewer.getPlayer(), argument);
+            default:
+                throw new IllegalStateException("Desteklenmeyen bağlama: " + pMethod.binding);
+        }
+    }
+
+    private static Object invokeRelational(Player one, Player two, PlaceholderMethod rMethod, String argument) throws Throwable {
+        switch (rMethod.binding) {
+            case RELATIONAL:
+                return rMethod.call2.invoke(one, two);
+            case RELATIONAL_ARGUMENT:
+                return rMethod.call3.invoke(one, two, argument);
+            default:
+                throw new IllegalStateException("Desteklenmeyen bağlama: " + rMethod.binding);
+        }
+    }
+
+    private String errorText(PlaceholderMethod pMethod) {
+        return pMethod.relAnnotation != null ? getRelationalErrorText(pMethod) : getErrorText(pMethod);
+    }
+
+    /**
+     * Sonucun önbellekte hangi bölüme yazılacağını {@link CacheScope}'a göre belirler.
+     * Dünya bazlı kapsamda bölüm anahtarı dünyanın UUID'sidir; oyuncu çevrimdışıysa oyuncu
+     * bazlı davranışa dönülür.
+     */
+    private static Object cacheOwner(OfflinePlayer viewer, PlaceholderMethod pMethod) {
+        switch (pMethod.cacheScope) {
+            case GLOBAL:
+                return ResultCache.GLOBAL;
+            case PER_WORLD:
+                if (viewer instanceof Player && viewer.isOnline()) {
+                    return ((Player) viewer).getWorld().getUID();
+                }
+                return viewer != null ? viewer.getUniqueId() : ResultCache.ANONYMOUS;
+            default:
+                return viewer != null ? viewer.getUniqueId() : ResultCache.ANONYMOUS;
+        }
+    }
+
+    /**
+     * Asenkron bir görev bittiğinde oyuncu sunucudan çıkmışsa, sonucu önbelleğe yazmak
+     * çıkışta temizlenen bölümü yeniden oluşturur.
+     */
+    private static boolean hasLeft(OfflinePlayer viewer) {
+        return viewer instanceof Player && !viewer.isOnline();
+    }
+
+    private void logError(PlaceholderMethod pMethod, Throwable cause) {
+        pMethod.metrics.errors.increment();
+        Method method = pMethod.method;
+        plugin.getLogger().log(Level.WARNING, "--- BenthPAPI Hata Raporu ---");
+        plugin.getLogger().warning("Placeholder: %" + getIdentifier() + "_...");
+        plugin.getLogger().warning("İşleyen Sınıf: " + method.getDeclaringClass().getSimpleName());
+        plugin.getLogger().warning("İşleyen Metot: " + method.getName());
+        plugin.getLogger().warning("Hata Tipi: " + cause.getClass().getSimpleName());
+        plugin.getLogger().log(Level.WARNING, "Hata Mesajı ve Stack Trace:", cause);
+        plugin.getLogger().warning("---------------------------------");
+    }
+
+    /**
+     * Grubun metotları ve bunlardan derlenen indeksler. Değiştirilemez; yeniden yüklemede
+     * bütünüyle yenisiyle değiştirilir.
+     */
+    private static final class MethodTable {
+        final Map<String, PlaceholderMethod> standard;
+        final Map<String, PlaceholderMethod> relational;
+        final DispatchIndex<PlaceholderMethod> standardIndex;
+        final DispatchIndex<PlaceholderMethod> relationalIndex;
+
+        MethodTable(Map<String, PlaceholderMethod> standard, Map<String, PlaceholderMethod> relational) {
+            this.standard = standard;
+            this.relational = relational;
+            this.standardIndex = DispatchIndex.of(standard);
+            this.relationalIndex = DispatchIndex.of(relational);
+        }
+    }
+
+    /**
+     * {@link #computeOnce} ile yürütülen senkron bir hesaplama.
+     */
+    private static final class Flight {
+        final Thread owner = Thread.currentThread();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile String result;
+
+        /**
+         * @return Hesaplamanın sonucu; süre içinde tamamlanmadıysa null.
+         */
+        String await(long timeoutMillis) {
+            try {
+                return done.await(timeoutMillis, TimeUnit.MILLISECONDS) ? result : null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * {@link #refreshSnapshot} ile başlatılan bir yenileme turunun sonuçları. Tur, başlatan
+     * thread'in payı dahil tüm hesaplamalar bittiğinde tamamlanır.
+     */
+    private static final class RefreshCycle {
+        final Map<String, String> results = new ConcurrentHashMap<>();
+        final AtomicInteger remaining = new AtomicInteger(1);
+        volatile boolean valueLoaded;
+        volatile String value;
+
+        void add(String argument, String result) {
+            if (argument == null) {
+                value = result;
+                valueLoaded = true;
+            } else {
+                results.put(argument, result);
+            }
+        }
+
+        /**
+         * @return Turun son hesaplaması bittiyse true.
+         */
+        boolean finish() {
+            return remaining.decrementAndGet() == 0;
+        }
+    }
+
+    /**
+     * Devam eden hesaplamaların tekilleştirme anahtarı. Yalnızca önbellek
+     * ıskalandığında oluşturulur.
+     */
+    private static final class PendingKey {
+        private final Object owner;
+        private final UUID target;
+        private final String identifier;
+        private final String argument;
+
+        PendingKey(Object owner, UUID target, String identifier, String argument) {
+            this.owner = owner;
+            this.target = target;
+            this.identifier = identifier;
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PendingKey)) return false;
+            PendingKey other = (PendingKey) o;
+            return owner.equals(other.owner) && Objects.equals(target, other.target)
+                    && identifier.equals(other.identifier) && Objects.equals(argument, other.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = owner.hashCode();
+            h = 31 * h + Objects.hashCode(target);
+            h = 31 * h + identifier.hashCode();
+            return 31 * h + Objects.hashCode(argument);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.function.Consumer;
+
+/**
+ * W-TinyLFU benzeri, ağırlık farkındalıklı bir tahliye politikası.
+ * <p>
+ * Yeni kayıtlar kapasitenin %1'i kadar küçük bir pencereye girer. Pencereden taşan kayıt,
+ * ana bölgeye alınmak için ana bölgenin kurbanıyla {@link FrequencySketch} üzerinden
+ * karşılaştırılır; daha az kullanılan taraf tahliye edilir. Ana bölge deneme (probation)
+ * ve korumalı (protected) olarak ikiye ayrılır.
+ * <p>
+ * Okumalar kilitsizdir: kaydın {@code referenced} bayrağını işaretler ve sıklık anahtarını
+ * bir {@link ReadBuffer}'a yazar. Sıralama tahliye anında ikinci şans (CLOCK) yaklaşımıyla,
+ * sıklıklar ise tampon boşaltılırken güncellenir. {@link #recordAccess} dışındaki tüm metotlar
+ * {@link ResultCache} kilidi altında çağrılmalıdır.
+ */
+final class EvictionPolicy {
+    static final int REMOVED = -1;
+    static final int WINDOW = 0;
+    static final int PROBATION = 1;
+    static final int PROTECTED = 2;
+
+    private final CacheLimits limits;
+    private final long maximum;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+    private final ReadBuffer reads = new ReadBuffer();
+    private final Consumer<CachedResult> evictor;
+
+    private final Region window = new Region();
+    private final Region probation = new Region();
+    private final Region protectedRegion = new Region();
+
+    EvictionPolicy(CacheLimits limits, Consumer<CachedResult> evictor) {
+        this.limits = limits;
+        this.maximum = limits.perExpansion;
+        this.windowMaximum = maximum == CacheLimits.UNLIMITED ? maximum : Math.max(1L, maximum / 100);
+        this.mainMaximum = maximum == CacheLimits.UNLIMITED ? maximum : maximum - windowMaximum;
+        this.protectedMaximum = mainMaximum == CacheLimits.UNLIMITED ? mainMaximum : mainMaximum * 4 / 5;
+        this.sketch = new FrequencySketch();
+        this.evictor = evictor;
+    }
+
+    /**
+     * Bir anahtara erişildiğini kaydeder. Önbellekte olmayan anahtarlar için de çağrılır ki
+     * yeni aday, kabul kararında gerçek popülerliğiyle tartılsın. Herhangi bir thread'den
+     * kilitsiz çağrılabilir.
+     * @return Tampon boşaltılmalıysa ({@link #drainReads}) true.
+     */
+    boolean recordAccess(int frequencyKey) {
+        return reads.offer(frequencyKey);
+    }
+
+    /**
+     * Tamponda bekleyen erişimleri sketch'e işler.
+     */
+    void drainReads() {
+        reads.drainTo(sketch::increment);
+    }
+
+    void onAdd(CachedResult entry) {
+        entry.region = WINDOW;
+        window.add(entry);
+        limits.globalWeight.addAndGet(entry.weight);
+        sketch.ensureCapacity(window.count + probation.count + protectedRegion.count);
+        drainReads();
+        evictIfNeeded();
+    }
+
+    void onRemove(CachedResult entry) {
+        if (entry.region == REMOVED) return;
+        regionOf(entry).remove(entry);
+        entry.region = REMOVED;
+        limits.globalWeight.addAndGet(-entry.weight);
+    }
+
+    void clear() {
+        limits.globalWeight.addAndGet(-(window.weight + probation.weight + protectedRegion.weight));
+        window.clear();
+        probation.clear();
+        protectedRegion.clear();
+    }
+
+    private void evictIfNeeded() {
+        while (window.weight > windowMaximum) {
+            CachedResult candidate = window.head;
+            window.remove(candidate);
+            candidate.region = PROBATION;
+            probation.add(candidate);
+
+            while (candidate.region == PROBATION && mainWeight() > mainMaximum) {
+                CachedResult victim = selectVictim(candidate);
+                if (victim == null || sketch.frequency(candidate.frequencyKey) <= sketch.frequency(victim.frequencyKey)) {
+                    evict(candidate);
+                } else {
+                    evict(victim);
+                }
+            }
+        }
+
+        while (window.weight + mainWeight() > maximum || limits.isGlobalExceeded()) {
+            CachedResult victim = selectVictim(null);
+            if (victim == null) victim = window.head;
+            if (victim == null) break;
+            evict(victim);
+        }
+    }
+
+    /**
+     * Ana bölgeden tahliye edilecek kaydı seçer. Son taramadan beri okunmuş deneme kayıtları
+     * korumalı bölgeye terfi ettirilir; korumalı bölge taşarsa en eskisi denemeye düşer.
+     */
+    private CachedResult selectVictim(CachedResult candidate) {
+        long guard = probation.count + protectedRegion.count;
+        while (guard-- >= 0) {
+            CachedResult entry = probation.head;
+            if (entry == candidate && entry != null) {
+                entry = entry.next;
+            }
+            if (entry == null) {
+                return protectedRegion.head;
+            }
+            if (!entry.referenced) {
+                return entry;
+            }
+
+            entry.referenced = false;
+            probation.remove(entry);
+            entry.region = PROTECTED;
+            protectedRegion.add(entry);
+            while (protectedRegion.weight > protectedMaximum) {
+                CachedResult demoted = protectedRegion.head;
+                protectedRegion.remove(demoted);
+                demoted.region = PROBATION;
+                probation.add(demoted);
+            }
+        }
+        return probation.head != candidate ? probation.head : protectedRegion.head;
+    }
+
+    private void evict(CachedResult entry) {
+        onRemove(entry);
+        evictor.accept(entry);
+    }
+
+    private long mainWeight() {
+        return probation.weight + protectedRegion.weight;
+    }
+
+    private Region regionOf(CachedResult entry) {
+        switch (entry.region) {
+            case PROBATION: return probation;
+            case PROTECTED: return protectedRegion;
+            default: return window;
+        }
+    }
+
+    /**
+     * Kayıtların kendi alanları üzerinden bağlanan çift yönlü liste.
+     */
+    private static final class Region {
+        CachedResult head;
+        CachedResult tail;
+        long weight;
+        long count;
+
+        void add(CachedResult entry) {
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+            weight += entry.weight;
+            count++;
+        }
+
+        void remove(CachedResult entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            weight -= entry.weight;
+            count--;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+            count = 0;
+        }
+    }
+}
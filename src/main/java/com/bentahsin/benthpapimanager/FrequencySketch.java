@@ -0,0 +1,104 @@
+package com.bentahsin.benthpapimanager;
+
+/**
+ * TinyLFU kabul kararı için 4-bit sayaçlı bir Count-Min sketch.
+ * <p>
+ * Her anahtar tek bir long kelimesinin içindeki dört sayaçta tutulur. Örnek sayısı
+ * tablonun on katına ulaştığında tüm sayaçlar yarıya indirilir; böylece eski popülerlik
+ * zamanla unutulur. Thread güvenli değildir: tüm metotlar {@link ResultCache} kilidi altında
+ * çağrılır; okumalar sketch'e doğrudan değil, {@link ReadBuffer} üzerinden işlenir.
+ * <p>
+ * Tablo küçük başlar ve önbellekteki kayıt sayısı arttıkça {@link #ensureCapacity} ile
+ * {@link #MAXIMUM_LENGTH} sınırına kadar büyütülür; böylece sınırsız yapılandırılmış bir
+ * önbellek, kayıt sayısından bağımsız büyük bir tablo ayırmaz. Büyütmede sayaçlar sıfırlanır.
+ */
+final class FrequencySketch {
+    private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    /** Başlangıç tablo uzunluğu; 512 kelime, 8192 sayaç (4 KB). */
+    static final int INITIAL_LENGTH = 1 << 9;
+    /** En büyük tablo uzunluğu; 1M kelime (8 MB). */
+    static final int MAXIMUM_LENGTH = 1 << 20;
+
+    private long[] table;
+    private int size;
+
+    FrequencySketch() {
+        this.table = new long[INITIAL_LENGTH];
+    }
+
+    /**
+     * Tabloyu, verilen kayıt sayısı kadar kelimeye (sınıra kadar) büyütür.
+     */
+    void ensureCapacity(long entries) {
+        long[] current = table;
+        if (entries <= current.length || current.length >= MAXIMUM_LENGTH) return;
+        int length = current.length;
+        while (length < entries && length < MAXIMUM_LENGTH) {
+            length <<= 1;
+        }
+        table = new long[length];
+        size = 0;
+    }
+
+    int frequency(int key) {
+        long[] table = this.table;
+        int hash = spread(key);
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i, table.length - 1);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(int key) {
+        long[] table = this.table;
+        int hash = spread(key);
+        int start = (hash & 3) << 2;
+
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(table, indexOf(hash, i, table.length - 1), start + i);
+        }
+        if (added && ++size >= 10 * table.length) {
+            reset(table);
+        }
+    }
+
+    private static boolean incrementAt(long[] table, int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset(long[] table) {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    private static int indexOf(int item, int i, int tableMask) {
+        long hash = (item + SEED[i]) * SEED[i];
+        hash += hash >>> 32;
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
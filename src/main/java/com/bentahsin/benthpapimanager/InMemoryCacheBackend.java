@@ -0,0 +1,99 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Aynı JVM içindeki düğümler arasında paylaşılan, bellek içi {@link CacheBackend} uygulaması.
+ * <p>
+ * Sunucular arası bir arka uç kurmadan paylaşılan önbelleği denemek ve test etmek içindir:
+ * {@link #connect()} ile oluşturulan her düğüm aynı kayıtları görür ve geçersiz kılma mesajları
+ * gönderen düğüm dışındaki tüm düğümlere iletilir. Ağ üzerinden çalışan bir arka uç (Redis vb.)
+ * aynı arayüzü uygulayarak yerine takılabilir.
+ * <pre>{@code
+ * InMemoryCacheBackend network = new InMemoryCacheBackend();
+ * BenthPAPIManager.create(pluginA).withSharedCache(network);
+ * BenthPAPIManager.create(pluginB).withSharedCache(network.connect());
+ * }</pre>
+ */
+public final class InMemoryCacheBackend implements CacheBackend {
+
+    private final Map<Key, Entry> store;
+    private final List<InMemoryCacheBackend> nodes;
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryCacheBackend() {
+        this(new ConcurrentHashMap<>(), new CopyOnWriteArrayList<>());
+    }
+
+    private InMemoryCacheBackend(Map<Key, Entry> store, List<InMemoryCacheBackend> nodes) {
+        this.store = store;
+        this.nodes = nodes;
+        nodes.add(this);
+    }
+
+    /**
+     * @return Aynı kayıtları paylaşan yeni bir düğüm; başka bir sunucunun bağlantısını temsil eder.
+     */
+    public InMemoryCacheBackend connect() {
+        return new InMemoryCacheBackend(store, nodes);
+    }
+
+    @Override
+    public Map<Key, Entry> getAll(Collection<Key> keys) {
+        long now = System.currentTimeMillis();
+        Map<Key, Entry> found = new HashMap<>();
+        for (Key key : keys) {
+            Entry entry = store.get(key);
+            if (entry == null) continue;
+            if (entry.isExpired(now)) {
+                store.remove(key, entry);
+            } else {
+                found.put(key, entry);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<Key, Entry> entries) {
+        store.putAll(entries);
+    }
+
+    @Override
+    public void invalidate(Invalidation message) {
+        store.keySet().removeIf(message::matches);
+        for (InMemoryCacheBackend node : nodes) {
+            if (node == this) continue;
+            for (Consumer<Invalidation> listener : node.listeners) {
+                listener.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Düğümün abonelerini kaldırır; kayıtlar diğer düğümler için korunur ve düğüm yeniden
+     * kullanılabilir.
+     */
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+
+    /**
+     * @return Tüm düğümlerin paylaştığı kayıt sayısı (süresi dolmuş ancak henüz okunmamış olanlar dahil).
+     */
+    public int size() {
+        return store.size();
+    }
+}
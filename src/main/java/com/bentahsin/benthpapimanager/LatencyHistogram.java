@@ -0,0 +1,50 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sabit kovalı, kilitsiz gecikme histogramı.
+ * <p>
+ * Kova sınırları ikinin kuvvetleridir: ilk kova 1 µs altını, her sonraki kova bir öncekinin
+ * iki katı genişliği kapsar; son kova ~4 saniye üstündeki her şeyi toplar. Kayıt, tek bir
+ * {@link LongAdder} artırımıdır.
+ */
+final class LatencyHistogram {
+    static final int BUCKETS = 24;
+    private static final int FIRST_SHIFT = 10;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long scaled = Math.max(0L, nanos) >>> FIRST_SHIFT;
+        int index = scaled == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(scaled));
+        buckets[index].increment();
+        totalNanos.add(nanos);
+    }
+
+    long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return Kovanın üst sınırı (nanosaniye); son kova için {@link Long#MAX_VALUE}.
+     */
+    static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << (FIRST_SHIFT + bucket);
+    }
+}
@@ -0,0 +1,184 @@
+package com.bentahsin.benthpapimanager;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Placeholder metotlarını reflection olmadan çağırmak için sabit parametre sayılı çağırıcılar üretir.
+ * <p>
+ * Öncelik sırası: {@link LambdaMetafactory} ile üretilen doğrudan çağrı, erişim veya sınıf
+ * yükleyici kısıtları buna izin vermiyorsa {@link MethodHandle}, o da mümkün değilse
+ * {@link Method#invoke}. Çağırıcılar hiçbir durumda varargs dizisi oluşturmaz.
+ */
+final class MethodInvoker {
+
+    @FunctionalInterface
+    interface Call0 {
+        Object invoke() throws Throwable;
+    }
+
+    @FunctionalInterface
+    interface Call1 {
+        Object invoke(Object a) throws Throwable;
+    }
+
+    @FunctionalInterface
+    interface Call2 {
+        Object invoke(Object a, Object b) throws Throwable;
+    }
+
+    @FunctionalInterface
+    interface Call3 {
+        Object invoke(Object a, Object b, Object c) throws Throwable;
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private MethodInvoker() {
+    }
+
+    static Call0 call0(Method method, Object instance) {
+        Object generated = generate(Call0.class, method, instance);
+        if (generated != null) return (Call0) generated;
+
+        MethodHandle handle = handle(method, instance);
+        if (handle != null) return () -> handle.invokeExact();
+        return () -> reflect(method, instance);
+    }
+
+    static Call1 call1(Method method, Object instance) {
+        Object generated = generate(Call1.class, method, instance);
+        if (generated != null) return (Call1) generated;
+
+        MethodHandle handle = handle(method, instance);
+        if (handle != null) return a -> handle.invokeExact(a);
+        return a -> reflect(method, instance, a);
+    }
+
+    static Call2 call2(Method method, Object instance) {
+        Object generated = generate(Call2.class, method, instance);
+        if (generated != null) return (Call2) generated;
+
+        MethodHandle handle = handle(method, instance);
+        if (handle != null) return (a, b) -> handle.invokeExact(a, b);
+        return (a, b) -> reflect(method, instance, a, b);
+    }
+
+    static Call3 call3(Method method, Object instance) {
+        Object generated = generate(Call3.class, method, instance);
+        if (generated != null) return (Call3) generated;
+
+        MethodHandle handle = handle(method, instance);
+        if (handle != null) return (a, b, c) -> handle.invokeExact(a, b, c);
+        return (a, b, c) -> reflect(method, instance, a, b, c);
+    }
+
+    /**
+     * Derleme zamanında üretilmiş bir {@link PlaceholderDispatcher} üzerinden çağıran
+     * çağırıcılar. Dağıtıcı hedefi kendi {@code switch}'i ile doğrudan çağırır.
+     */
+    static Call0 call0(PlaceholderDispatcher dispatcher, Object instance, int index) {
+        return () -> dispatcher.invoke(instance, index, null, null, null);
+    }
+
+    static Call1 call1(PlaceholderDispatcher dispatcher, Object instance, int index) {
+        return a -> dispatcher.invoke(instance, index, a, null, null);
+    }
+
+    static Call2 call2(PlaceholderDispatcher dispatcher, Object instance, int index) {
+        return (a, b) -> dispatcher.invoke(instance, index, a, b, null);
+    }
+
+    static Call3 call3(PlaceholderDispatcher dispatcher, Object instance, int index) {
+        return (a, b, c) -> dispatcher.invoke(instance, index, a, b, c);
+    }
+
+    /**
+     * Hedef metodu doğrudan çağıran bir lambda sınıfı üretir. Üretilen sınıf bu kütüphanenin
+     * sınıf yükleyicisinde tanımlandığı için hedef ve imzasındaki tüm tipler buradan
+     * erişilebilir olmalıdır; aksi halde null döner.
+     */
+    private static Object generate(Class<?> callType, Method method, Object instance) {
+        if (!isLinkable(method)) return null;
+        try {
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            MethodHandle target = LOOKUP.unreflect(method);
+            int arity = method.getParameterCount();
+
+            MethodType samType = MethodType.genericMethodType(arity);
+            MethodType instantiatedType = MethodType.methodType(Object.class, method.getParameterTypes());
+            MethodType factoryType = isStatic
+                    ? MethodType.methodType(callType)
+                    : MethodType.methodType(callType, method.getDeclaringClass());
+
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "invoke", factoryType, samType, target, instantiatedType);
+            return isStatic ? site.getTarget().invoke() : site.getTarget().invoke(instance);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private static boolean isLinkable(Method method) {
+        if (method.getReturnType() == void.class || !Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+        if (!isVisible(method.getDeclaringClass())) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type)) return false;
+        }
+        return isVisible(method.getReturnType());
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) return true;
+
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) return false;
+        }
+        try {
+            return Class.forName(type.getName(), false, MethodInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hedef metodu örneğe bağlanmış ve tamamen Object tiplerine uyarlanmış bir
+     * {@link MethodHandle} olarak döndürür; erişim reddedilirse null.
+     */
+    private static MethodHandle handle(Method method, Object instance) {
+        try {
+            method.setAccessible(true);
+        } catch (RuntimeException ignored) {
+            // Erişilebilir yapılamazsa unreflect zaten başarısız olur.
+        }
+        try {
+            MethodHandle target = LOOKUP.unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                target = target.bindTo(instance);
+            }
+            return target.asType(MethodType.genericMethodType(method.getParameterCount()));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Object reflect(Method method, Object instance, Object... args) throws Throwable {
+        try {
+            return method.invoke(instance, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+}
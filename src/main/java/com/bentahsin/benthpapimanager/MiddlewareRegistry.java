@@ -0,0 +1,119 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.Middleware;
+import com.bentahsin.benthpapimanager.annotations.Pure;
+import com.bentahsin.benthpapimanager.middleware.PlaceholderMiddleware;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Yöneticiye ait middleware örnekleri ve derlenmiş zincirler.
+ * <p>
+ * Her middleware sınıfı yönetici başına bir kez oluşturulur ve tüm placeholder gruplarınca
+ * paylaşılır. Bir metodun {@link Middleware} zinciri kayıt sırasında tek bir
+ * {@link PlaceholderMiddleware}'e derlenir; istek anında sınıf araması veya yansıma yapılmaz.
+ * {@link Pure} ile işaretlenmiş sınıflar girdiye göre hatırlayan bir sarmalayıcıyla kullanılır.
+ * <p>
+ * Yalnızca kayıt sırasında, ana thread'den çağrılır.
+ */
+final class MiddlewareRegistry {
+    private final Logger logger;
+    private final Map<Class<?>, PlaceholderMiddleware> stages = new HashMap<>();
+
+    MiddlewareRegistry(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Sınıfı için yansımayla oluşturulacak örnek yerine verilen örneği kullanır.
+     */
+    void register(PlaceholderMiddleware instance) {
+        stages.put(instance.getClass(), stage(instance));
+    }
+
+    /**
+     * @return Zincirin tamamını sırayla uygulayan tek middleware; anotasyon yoksa veya hiçbir
+     *         middleware oluşturulamadıysa null.
+     */
+    PlaceholderMiddleware compile(Middleware info) {
+        if (info == null) return null;
+
+        List<PlaceholderMiddleware> chain = new ArrayList<>();
+        for (Class<? extends PlaceholderMiddleware> type : info.value()) {
+            PlaceholderMiddleware stage = stages.computeIfAbsent(type, this::instantiate);
+            if (stage != null) {
+                chain.add(stage);
+            }
+        }
+        if (chain.isEmpty()) return null;
+
+        PlaceholderMiddleware composed = chain.get(chain.size() - 1);
+        for (int i = chain.size() - 2; i >= 0; i--) {
+            composed = then(chain.get(i), composed);
+        }
+        return composed;
+    }
+
+    private PlaceholderMiddleware instantiate(Class<?> type) {
+        try {
+            return stage((PlaceholderMiddleware) type.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Middleware sınıfı başlatılamadı: " + type.getName(), e);
+            return null;
+        }
+    }
+
+    private static PlaceholderMiddleware stage(PlaceholderMiddleware middleware) {
+        Pure pure = middleware.getClass().getAnnotation(Pure.class);
+        return pure != null && pure.maxEntries() > 0 ? new Memoized(middleware, pure.maxEntries()) : middleware;
+    }
+
+    private static PlaceholderMiddleware then(PlaceholderMiddleware first, PlaceholderMiddleware next) {
+        return input -> {
+            String result = first.process(input);
+            return result == null ? null : next.process(result);
+        };
+    }
+
+    /**
+     * Saf bir middleware'in sonuçlarını girdiye göre hatırlar.
+     */
+    private static final class Memoized implements PlaceholderMiddleware {
+        private final PlaceholderMiddleware delegate;
+        private final int maxEntries;
+        private final Map<Object, String> results = new ConcurrentHashMap<>();
+
+        Memoized(PlaceholderMiddleware delegate, int maxEntries) {
+            this.delegate = delegate;
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        public String process(Object input) {
+            if (!isValue(input)) return delegate.process(input);
+
+            String result = results.get(input);
+            if (result != null) return result;
+
+            result = delegate.process(input);
+            if (result != null) {
+                if (results.size() >= maxEntries) {
+                    results.clear();
+                }
+                results.put(input, result);
+            }
+            return result;
+        }
+
+        private static boolean isValue(Object input) {
+            return input instanceof String || input instanceof Number || input instanceof Boolean
+                    || input instanceof Character || input instanceof Enum;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code @RequirePermission} kontrollerinin oyuncu başına sonuçları.
+ * <p>
+ * Kayıtlı tüm placeholder'larda geçen her yetki düğümüne kayıt sırasında bir sıra numarası
+ * verilir; oyuncunun kararları bu sıraya göre bir dizide tutulur. Böylece önbellekteki bir karar
+ * tek bir harita okuması ve bir dizi erişimiyle bulunur. Kayıtlar yalnızca çevrimiçi oyuncular
+ * için tutulur ve çıkışta silinir; yetki eklentilerinin değişiklikleri için kararlar belirli bir
+ * süre sonra yeniden sorulur.
+ */
+final class PermissionCache {
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final Map<UUID, Decisions> players = new ConcurrentHashMap<>();
+    private final TickClock clock;
+    private final long ttlMillis;
+
+    PermissionCache(TickClock clock, long ttlMillis) {
+        this.clock = clock;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return Yetki düğümünün sıra numarası; düğüm ilk kez görülüyorsa yeni bir numara verilir.
+     */
+    synchronized int slot(String node) {
+        return slots.computeIfAbsent(node, k -> slots.size());
+    }
+
+    /**
+     * @param slot Düğümün {@link #slot} ile alınmış sıra numarası.
+     */
+    boolean hasPermission(Player player, int slot, String node) {
+        UUID playerId = player.getUniqueId();
+        Decisions decisions = players.get(playerId);
+        long now = clock.now();
+        if (decisions != null && now <= decisions.expireAt) {
+            byte[] values = decisions.values;
+            if (slot < values.length && values[slot] != UNKNOWN) {
+                return values[slot] == ALLOWED;
+            }
+        } else {
+            decisions = null;
+        }
+
+        boolean allowed = player.hasPermission(node);
+        if (!player.isOnline()) return allowed;
+
+        if (decisions == null) {
+            decisions = new Decisions(now + ttlMillis, slots.size());
+            players.put(playerId, decisions);
+        }
+        decisions.set(slot, allowed ? ALLOWED : DENIED);
+        return allowed;
+    }
+
+    void invalidate(UUID player) {
+        players.remove(player);
+    }
+
+    void clear() {
+        players.clear();
+    }
+
+    /**
+     * Bir oyuncunun kararları. Eşzamanlı yazmalarda bir karar kaybolabilir; kaybolan karar bir
+     * sonraki istekte yeniden sorulur. Geçersiz kılma nesneyi haritadan kaldırdığından, devam eden
+     * bir kontrolün sonucu yeni kararlara karışmaz.
+     */
+    private static final class Decisions {
+        final long expireAt;
+        volatile byte[] values;
+
+        Decisions(long expireAt, int size) {
+            this.expireAt = expireAt;
+            this.values = new byte[Math.max(1, size)];
+        }
+
+        void set(int slot, byte value) {
+            byte[] current = values;
+            if (slot >= current.length) {
+                current = Arrays.copyOf(current, Math.max(slot + 1, current.length * 2));
+                current[slot] = value;
+                values = current;
+                return;
+            }
+            current[slot] = value;
+        }
+    }
+}
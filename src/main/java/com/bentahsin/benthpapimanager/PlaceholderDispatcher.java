@@ -0,0 +1,64 @@
+package com.bentahsin.benthpapimanager;
+
+/**
+ * Bir {@link com.bentahsin.benthpapimanager.annotations.Placeholder} sınıfı için derleme zamanında
+ * üretilen dağıtıcı.
+ * <p>
+ * {@code benth-papi-manager-processor} modülü, her placeholder sınıfının yanına
+ * {@code <Sınıf>_BenthDispatcher} adlı bir uygulama üretir. {@link BenthPAPIManager#register} bu
+ * sınıfı bulursa örneği doğrudan oluşturur, {@code @Inject} alanlarını doğrudan atar, metotları
+ * taramak yerine dağıtıcının listesini kullanır ve çağrıları {@code switch} ile doğrudan metoda
+ * yönlendirir. Bulamazsa yansıma ile çalışmaya devam eder.
+ * <p>
+ * Bu arayüz üretilen kod içindir; elle uygulanmamalıdır.
+ */
+public interface PlaceholderDispatcher {
+
+    /**
+     * Üretilen sınıfın adına, placeholder sınıfının paket dışındaki adından ('$' yerine '_')
+     * sonra eklenen son ek.
+     */
+    String SUFFIX = "_BenthDispatcher";
+
+    /**
+     * @return Placeholder sınıfının parametresiz constructor ile oluşturulmuş yeni bir örneği.
+     */
+    Object create();
+
+    /**
+     * Örneğin {@code @Inject} alanlarını atar. Karşılığı bulunamayan alanlara dokunulmaz.
+     */
+    void inject(Object instance, Injector injector);
+
+    /**
+     * @return Placeholder metodu sayısı. Hem standart hem ilişkisel olarak işaretlenmiş bir metot
+     * iki kez sayılır.
+     */
+    int size();
+
+    String methodName(int index);
+
+    Class<?>[] parameterTypes(int index);
+
+    /**
+     * @return Metot bu sırada {@code @RelationalPlaceholder} olarak kayıtlıysa true.
+     */
+    boolean relational(int index);
+
+    /**
+     * Verilen sıradaki metodu doğrudan çağırır. Kullanılmayan argümanlar null'dır.
+     */
+    Object invoke(Object instance, int index, Object a, Object b, Object c) throws Throwable;
+
+    /**
+     * {@code @Inject} alanlarına atanacak nesneleri sağlar.
+     */
+    @FunctionalInterface
+    interface Injector {
+
+        /**
+         * @return Alana atanacak nesne; kayıtlı bir nesne yoksa null.
+         */
+        Object resolve(String field, Class<?> type);
+    }
+}
@@ -0,0 +1,264 @@
+package com.bentahsin.benthpapimanager;
+
+import com.bentahsin.benthpapimanager.annotations.*;
+import com.bentahsin.benthpapimanager.middleware.PlaceholderMiddleware;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Kayıt sırasında çözümlenen tek bir placeholder metodu.
+ * Parametre bağlama şekli ve çağırıcı burada bir kez belirlenir; istek anında
+ * yalnızca {@link #binding} üzerinden doğrudan çağrı yapılır.
+ */
+final class PlaceholderMethod {
+
+    /**
+     * Metodun parametrelerine hangi değerlerin hangi sırayla verileceği.
+     */
+    enum Binding {
+        NONE,
+        ARGUMENT,
+        OFFLINE_PLAYER,
+        PLAYER,
+        OFFLINE_PLAYER_ARGUMENT,
+        PLAYER_ARGUMENT,
+        RELATIONAL,
+        RELATIONAL_ARGUMENT,
+        RELATIONAL_BATCH,
+        RELATIONAL_BATCH_ARGUMENT,
+        BATCH,
+        BATCH_ARGUMENT,
+        UNSUPPORTED
+    }
+
+    final Method method;
+    final Object instance;
+    final String identifier;
+    final PlaceholderIdentifier annotation;
+    final RelationalPlaceholder relAnnotation;
+    final Cache cacheInfo;
+    final Middleware middlewareInfo;
+    final PlaceholderMiddleware middleware;
+    final RequirePermission permissionInfo;
+    final BatchPlaceholder batchInfo;
+    final Refresh refreshInfo;
+    final InvalidateOn invalidateInfo;
+    final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    final PlaceholderMetrics metrics = new PlaceholderMetrics();
+    final TickBudget.State budget = new TickBudget.State();
+    final CacheScope cacheScope;
+    final double refreshAhead;
+    final long staleMillis;
+    final int maxConcurrent;
+    final boolean returnsStage;
+    final boolean async;
+    final boolean symmetric;
+    final String cacheFingerprint;
+    /**
+     * {@link #permissionInfo} düğümünün {@link PermissionCache} içindeki sırası; yetki önbelleği
+     * kapalıysa -1. Kayıt sırasında, metot genişlemeye eklenmeden önce atanır.
+     */
+    int permissionSlot = -1;
+    private final AtomicInteger running = new AtomicInteger();
+
+    final Binding binding;
+    final MethodInvoker.Call0 call0;
+    final MethodInvoker.Call1 call1;
+    final MethodInvoker.Call2 call2;
+    final MethodInvoker.Call3 call3;
+
+    PlaceholderMethod(Method method, Object instance, boolean relational, int defaultConcurrency, MiddlewareRegistry middlewares) {
+        this(method, instance, relational, defaultConcurrency, middlewares, null, -1);
+    }
+
+    /**
+     * @param dispatcher Sınıf için derleme zamanında üretilmiş dağıtıcı; yoksa null.
+     * @param index Metodun dağıtıcıdaki sırası.
+     */
+    PlaceholderMethod(Method method, Object instance, boolean relational, int defaultConcurrency, MiddlewareRegistry middlewares,
+                      PlaceholderDispatcher dispatcher, int index) {
+        this.method = method;
+        this.instance = instance;
+        this.annotation = method.getAnnotation(PlaceholderIdentifier.class);
+        this.relAnnotation = method.getAnnotation(RelationalPlaceholder.class);
+        this.cacheInfo = method.getAnnotation(Cache.class);
+        this.middlewareInfo = method.getAnnotation(Middleware.class);
+        this.middleware = middlewares.compile(middlewareInfo);
+        this.permissionInfo = method.getAnnotation(RequirePermission.class);
+        this.batchInfo = relational ? null : method.getAnnotation(BatchPlaceholder.class);
+        this.invalidateInfo = method.getAnnotation(InvalidateOn.class);
+        this.cacheScope = cacheInfo != null && batchInfo == null ? cacheInfo.scope() : CacheScope.PER_PLAYER;
+        this.refreshAhead = cacheInfo != null && cacheInfo.refreshAhead() > 0 && cacheInfo.refreshAhead() < 1 ? cacheInfo.refreshAhead() : 0;
+        this.staleMillis = cacheInfo != null ? cacheInfo.unit().toMillis(Math.max(0L, cacheInfo.staleWhileRevalidate())) : 0L;
+        this.identifier = (relational ? relAnnotation.identifier() : annotation.identifier()).toLowerCase().intern();
+        int declaredConcurrency = relational ? relAnnotation.maxConcurrent() : annotation.maxConcurrent();
+        this.maxConcurrent = declaredConcurrency > 0 ? declaredConcurrency : defaultConcurrency;
+        this.returnsStage = CompletionStage.class.isAssignableFrom(method.getReturnType());
+        this.async = returnsStage || (relational ? relAnnotation.async() : annotation.async());
+        this.symmetric = relational && relAnnotation.symmetric();
+
+        if (relational) {
+            this.binding = relationalBinding(method.getParameterTypes());
+        } else if (batchInfo != null) {
+            this.binding = batchBinding(method.getParameterTypes());
+        } else {
+            this.binding = standardBinding(method.getParameterTypes());
+        }
+
+        Refresh refresh = relational ? null : method.getAnnotation(Refresh.class);
+        this.refreshInfo = refresh != null && refresh.interval() > 0 && (binding == Binding.NONE || binding == Binding.ARGUMENT) ? refresh : null;
+
+        this.cacheFingerprint = fingerprint();
+
+        boolean callable = binding != Binding.UNSUPPORTED;
+        int arity = method.getParameterCount();
+        if (dispatcher != null) {
+            this.call0 = callable && arity == 0 ? MethodInvoker.call0(dispatcher, instance, index) : null;
+            this.call1 = callable && arity == 1 ? MethodInvoker.call1(dispatcher, instance, index) : null;
+            this.call2 = callable && arity == 2 ? MethodInvoker.call2(dispatcher, instance, index) : null;
+            this.call3 = callable && arity == 3 ? MethodInvoker.call3(dispatcher, instance, index) : null;
+        } else {
+            this.call0 = callable && arity == 0 ? MethodInvoker.call0(method, instance) : null;
+            this.call1 = callable && arity == 1 ? MethodInvoker.call1(method, instance) : null;
+            this.call2 = callable && arity == 2 ? MethodInvoker.call2(method, instance) : null;
+            this.call3 = callable && arity == 3 ? MethodInvoker.call3(method, instance) : null;
+        }
+    }
+
+    /**
+     * Önbelleğe yazılan bir değerin arka planda yenilenmeye başlayacağı süre.
+     * @param duration Önbellek süresi (milisaniye).
+     */
+    long refreshAfter(long duration) {
+        return refreshAhead > 0 ? (long) (duration * refreshAhead) : duration;
+    }
+
+    /**
+     * Önbelleğe yazılan bir değerin, eski değer penceresi dahil önbellekten kaldırılacağı süre.
+     * @param duration Önbellek süresi (milisaniye).
+     */
+    long expireAfter(long duration) {
+        return duration + staleMillis;
+    }
+
+    /**
+     * Eşzamanlılık sınırı izin veriyorsa bir asenkron görev yeri ayırır.
+     * @return Yer ayrıldıysa true; çağıran, görev bitince {@link #releaseAsync()} çağırmalıdır.
+     */
+    boolean tryAcquireAsync() {
+        if (maxConcurrent <= 0) return true;
+        while (true) {
+            int current = running.get();
+            if (current >= maxConcurrent) return false;
+            if (running.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    void releaseAsync() {
+        if (maxConcurrent > 0) {
+            running.decrementAndGet();
+        }
+    }
+
+    private static Binding standardBinding(Class<?>[] types) {
+        switch (types.length) {
+            case 0:
+                return Binding.NONE;
+            case 1:
+                if (types[0] == String.class) return Binding.ARGUMENT;
+                if (Player.class.isAssignableFrom(types[0])) return Binding.PLAYER;
+                if (OfflinePlayer.class.isAssignableFrom(types[0])) return Binding.OFFLINE_PLAYER;
+                return Binding.UNSUPPORTED;
+            case 2:
+                if (types[1] != String.class) return Binding.UNSUPPORTED;
+                if (Player.class.isAssignableFrom(types[0])) return Binding.PLAYER_ARGUMENT;
+                if (OfflinePlayer.class.isAssignableFrom(types[0])) return Binding.OFFLINE_PLAYER_ARGUMENT;
+                return Binding.UNSUPPORTED;
+            default:
+                return Binding.UNSUPPORTED;
+        }
+    }
+
+    private static Binding batchBinding(Class<?>[] types) {
+        if (types.length < 1 || !isPlayerCollection(types[0])) {
+            return Binding.UNSUPPORTED;
+        }
+        if (types.length == 1) return Binding.BATCH;
+        if (types.length == 2 && types[1] == String.class) return Binding.BATCH_ARGUMENT;
+        return Binding.UNSUPPORTED;
+    }
+
+    private static Binding relationalBinding(Class<?>[] types) {
+        if (types.length < 2 || !types[0].isAssignableFrom(Player.class)) {
+            return Binding.UNSUPPORTED;
+        }
+        boolean batch = isPlayerCollection(types[1]);
+        if (!batch && !types[1].isAssignableFrom(Player.class)) {
+            return Binding.UNSUPPORTED;
+        }
+        if (types.length == 2) return batch ? Binding.RELATIONAL_BATCH : Binding.RELATIONAL;
+        if (types.length == 3 && types[2] == String.class) return batch ? Binding.RELATIONAL_BATCH_ARGUMENT : Binding.RELATIONAL_ARGUMENT;
+        return Binding.UNSUPPORTED;
+    }
+
+    /**
+     * Yeniden yüklemede, önceki sürümün önbellekteki sonuçlarının bu metot için de geçerli olup
+     * olmadığını belirler.
+     */
+    boolean cacheCompatible(PlaceholderMethod previous) {
+        return cacheFingerprint.equals(previous.cacheFingerprint);
+    }
+
+    /**
+     * Önbellekteki sonuçların biçimini belirleyen her şeyin metin özeti. Önbellekte middleware'den
+     * geçmiş metin tutulduğu için imza ve {@link Cache} yanında middleware zinciri ve önbellek
+     * anahtarını etkileyen ayarlar da dahildir. Sınıflar farklı bir sınıf yükleyiciden gelebileceği
+     * veya sunucu yeniden başlamış olabileceği için tipler adlarıyla yazılır. Özet diske de
+     * yazıldığından, biçimi JVM sürümüne göre değişen {@code Annotation#toString()} yerine
+     * anotasyon değerleri tek tek yazılır.
+     */
+    private String fingerprint() {
+        StringBuilder builder = new StringBuilder(binding.name()).append(symmetric ? " symmetric " : " ")
+                .append(method.getReturnType().getName()).append(' ').append(method.getName()).append('(');
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            builder.append(i == 0 ? "" : ",").append(types[i].getName());
+        }
+        builder.append(") cache=");
+        if (cacheInfo != null) {
+            builder.append(cacheInfo.duration()).append(',').append(cacheInfo.unit().name()).append(',')
+                    .append(cacheInfo.scope().name()).append(',').append(cacheInfo.refreshAhead()).append(',')
+                    .append(cacheInfo.staleWhileRevalidate());
+        }
+        builder.append(" batch=");
+        if (batchInfo != null) {
+            builder.append(batchInfo.refresh()).append(',').append(batchInfo.unit().name());
+        }
+        builder.append(" middleware=");
+        if (middlewareInfo != null) {
+            Class<?>[] chain = middlewareInfo.value();
+            for (int i = 0; i < chain.length; i++) {
+                builder.append(i == 0 ? "" : ",").append(chain[i].getName());
+            }
+        }
+        return builder.toString();
+    }
+
+    boolean isRelationalBatch() {
+        return binding == Binding.RELATIONAL_BATCH || binding == Binding.RELATIONAL_BATCH_ARGUMENT;
+    }
+
+    /**
+     * Toplu metotlara oyuncular bir {@link ArrayList} içinde verilir.
+     */
+    private static boolean isPlayerCollection(Class<?> type) {
+        return Collection.class.isAssignableFrom(type) && type.isAssignableFrom(ArrayList.class);
+    }
+}
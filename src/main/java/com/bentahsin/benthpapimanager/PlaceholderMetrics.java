@@ -0,0 +1,27 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tek bir placeholder metoduna ait sayaçlar ve gecikme histogramları.
+ * <p>
+ * Tüm sayaçlar {@link LongAdder} olduğundan farklı thread'lerden gelen kayıtlar birbirini
+ * beklemez. Önbellek isabetinde yalnızca bir sayaç artırılır; süre ölçümü yalnızca metot
+ * veya middleware gerçekten çalıştığında yapılır.
+ */
+final class PlaceholderMetrics {
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder expired = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder asyncPending = new LongAdder();
+    final LongAdder asyncRejected = new LongAdder();
+    final LatencyHistogram execution = new LatencyHistogram();
+    final LatencyHistogram middleware = new LatencyHistogram();
+
+    PlaceholderStats snapshot(String expansion, String identifier, boolean relational) {
+        return new PlaceholderStats(expansion, identifier, relational,
+                hits.sum(), misses.sum(), expired.sum(), errors.sum(), asyncPending.sum(), asyncRejected.sum(),
+                execution.counts(), execution.totalNanos(), middleware.counts(), middleware.totalNanos());
+    }
+}
@@ -0,0 +1,132 @@
+package com.bentahsin.benthpapimanager;
+
+/**
+ * Bir placeholder'ın ölçümlerinin belirli bir andaki değiştirilemez kopyası.
+ * {@link BenthPAPIManager#getMetrics()} ile alınır.
+ */
+@SuppressWarnings("unused")
+public final class PlaceholderStats {
+    private final String expansion;
+    private final String identifier;
+    private final boolean relational;
+    private final long cacheHits;
+    private final long cacheMisses;
+    private final long cacheExpired;
+    private final long errors;
+    private final long asyncPending;
+    private final long asyncRejected;
+    private final long[] executionBuckets;
+    private final long executionNanos;
+    private final long[] middlewareBuckets;
+    private final long middlewareNanos;
+
+    PlaceholderStats(String expansion, String identifier, boolean relational, long cacheHits, long cacheMisses, long cacheExpired,
+                     long errors, long asyncPending, long asyncRejected, long[] executionBuckets, long executionNanos,
+                     long[] middlewareBuckets, long middlewareNanos) {
+        this.expansion = expansion;
+        this.identifier = identifier;
+        this.relational = relational;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.cacheExpired = cacheExpired;
+        this.errors = errors;
+        this.asyncPending = asyncPending;
+        this.asyncRejected = asyncRejected;
+        this.executionBuckets = executionBuckets;
+        this.executionNanos = executionNanos;
+        this.middlewareBuckets = middlewareBuckets;
+        this.middlewareNanos = middlewareNanos;
+    }
+
+    /**
+     * @return Placeholder grubunun ana tanımlayıcısı.
+     */
+    public String getExpansion() { return expansion; }
+
+    /**
+     * @return Placeholder'ın alt tanımlayıcısı.
+     */
+    public String getIdentifier() { return identifier; }
+
+    public boolean isRelational() { return relational; }
+
+    /**
+     * @return Metodun çalıştırılma sayısı.
+     */
+    public long getInvocations() { return sum(executionBuckets); }
+
+    /**
+     * @return Metodun veya tamamlanan {@code CompletionStage}'in hata ile sonuçlanma sayısı.
+     */
+    public long getErrors() { return errors; }
+
+    public long getCacheHits() { return cacheHits; }
+
+    public long getCacheMisses() { return cacheMisses; }
+
+    /**
+     * @return Önbellekte bulunan ama süresi dolmuş olduğu için yeniden hesaplanan istek sayısı.
+     */
+    public long getCacheExpired() { return cacheExpired; }
+
+    /**
+     * @return İsabetlerin tüm önbellek erişimlerine oranı; hiç erişim yoksa 0.
+     */
+    public double getHitRatio() {
+        long total = cacheHits + cacheMisses + cacheExpired;
+        return total == 0 ? 0 : (double) cacheHits / total;
+    }
+
+    /**
+     * @return Şu an devam eden asenkron hesaplama sayısı.
+     */
+    public long getAsyncPending() { return asyncPending; }
+
+    /**
+     * @return Eşzamanlılık sınırı veya yürütücü kapasitesi nedeniyle başlatılamayan hesaplama sayısı.
+     */
+    public long getAsyncRejected() { return asyncRejected; }
+
+    public long getTotalExecutionNanos() { return executionNanos; }
+
+    public double getMeanExecutionNanos() {
+        long count = getInvocations();
+        return count == 0 ? 0 : (double) executionNanos / count;
+    }
+
+    /**
+     * @param quantile 0 ile 1 arasında bir oran (örn. 0.99).
+     * @return Çalışma süresinin verilen yüzdelik dilimini içeren kovanın üst sınırı (nanosaniye).
+     */
+    public long getExecutionPercentileNanos(double quantile) { return percentile(executionBuckets, quantile); }
+
+    public long getMiddlewareInvocations() { return sum(middlewareBuckets); }
+
+    public long getTotalMiddlewareNanos() { return middlewareNanos; }
+
+    /**
+     * @param quantile 0 ile 1 arasında bir oran (örn. 0.99).
+     * @return Middleware süresinin verilen yüzdelik dilimini içeren kovanın üst sınırı (nanosaniye).
+     */
+    public long getMiddlewarePercentileNanos(double quantile) { return percentile(middlewareBuckets, quantile); }
+
+    private static long sum(long[] buckets) {
+        long total = 0;
+        for (long count : buckets) total += count;
+        return total;
+    }
+
+    private static long percentile(long[] buckets, double quantile) {
+        long total = sum(buckets);
+        if (total == 0) return 0;
+        long target = (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target && seen > 0) {
+                return LatencyHistogram.upperBound(i);
+            }
+        }
+        return LatencyHistogram.upperBound(buckets.length - 1);
+    }
+}
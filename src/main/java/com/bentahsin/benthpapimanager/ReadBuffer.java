@@ -0,0 +1,87 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Önbellek okumalarının sıklık anahtarlarını {@link FrequencySketch}'e işlenene kadar tutan,
+ * şeritlere bölünmüş kayıplı bir tampon.
+ * <p>
+ * Her thread kimliğine göre bir şeride yazar; yazma tek bir CAS'tır. Şerit doluysa veya CAS
+ * başka bir yazarla çakışırsa kayıt atılır; sketch zaten yaklaşık olduğu için birkaç kayıp
+ * erişim kabul kararını değiştirmez. Tampon tek bir tüketici tarafından, {@link ResultCache}
+ * kilidi altında boşaltılır.
+ */
+final class ReadBuffer {
+    /** Şerit başına kayıt sayısı. */
+    static final int STRIPE_SIZE = 32;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int MAXIMUM_STRIPES = 16;
+    /** Şerit sayaçları arasındaki boşluk; sayaçların aynı önbellek satırını paylaşmasını önler. */
+    private static final int PAD_SHIFT = 3;
+
+    private final int stripeMask;
+    private final AtomicLongArray slots;
+    private final AtomicLongArray tails;
+    private final AtomicLongArray heads;
+
+    ReadBuffer() {
+        int processors = Math.max(1, Math.min(MAXIMUM_STRIPES, Runtime.getRuntime().availableProcessors()));
+        int stripes = Integer.highestOneBit(processors * 2 - 1);
+        this.stripeMask = stripes - 1;
+        this.slots = new AtomicLongArray(stripes * STRIPE_SIZE);
+        this.tails = new AtomicLongArray(stripes << PAD_SHIFT);
+        this.heads = new AtomicLongArray(stripes << PAD_SHIFT);
+    }
+
+    /**
+     * Bir erişimi kaydeder; şerit doluysa veya yazma çakışırsa kaydı atar.
+     * @return Şerit dolduysa, yani tampon boşaltılmalıysa true.
+     */
+    boolean offer(int key) {
+        int stripe = stripe();
+        int counter = stripe << PAD_SHIFT;
+        long tail = tails.get(counter);
+        long size = tail - heads.get(counter);
+        if (size >= STRIPE_SIZE) return true;
+        if (!tails.compareAndSet(counter, tail, tail + 1)) return false;
+
+        slots.lazySet(stripe * STRIPE_SIZE + (int) (tail & STRIPE_MASK), encode(key));
+        return size + 1 >= STRIPE_SIZE;
+    }
+
+    /**
+     * Tüm şeritlerdeki kayıtları sırayla tüketiciye verir. Yalnızca {@link ResultCache} kilidi
+     * altında çağrılmalıdır. Yeri ayrılmış ama henüz yazılmamış bir kayda gelindiğinde şerit
+     * bir sonraki boşaltmaya bırakılır.
+     */
+    void drainTo(IntConsumer consumer) {
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            int counter = stripe << PAD_SHIFT;
+            int base = stripe * STRIPE_SIZE;
+            long head = heads.get(counter);
+            long tail = tails.get(counter);
+            for (; head < tail; head++) {
+                int index = base + (int) (head & STRIPE_MASK);
+                long value = slots.get(index);
+                if (value == 0L) break;
+                slots.lazySet(index, 0L);
+                consumer.accept((int) value);
+            }
+            heads.lazySet(counter, head);
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9e3779b9;
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+
+    /**
+     * Boş yuvayı (0) gerçek bir anahtardan ayırmak için anahtarın üstüne bir bayrak ekler.
+     */
+    private static long encode(int key) {
+        return (key & 0xffffffffL) | (1L << 32);
+    }
+}
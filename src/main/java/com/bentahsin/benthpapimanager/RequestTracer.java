@@ -0,0 +1,234 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.OfflinePlayer;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Logger;
+
+/**
+ * Örneklenmiş placeholder isteklerini sabit boyutlu, kilitsiz bir halka tampona kaydeden izleyici.
+ * <p>
+ * İstek sırasında aşama süreleri thread'e ait, yeniden kullanılan bir {@link Span} nesnesine
+ * yazılır; yalnızca örneklenen veya yavaşlık eşiğini aşan istekler değiştirilemez bir
+ * {@link Trace} olarak kaydedilir. Oyuncu adları da yalnızca bu durumda okunur. İstek yolunda hiçbir zaman log yazılmaz: tampon isteğe bağlı
+ * olarak dosyaya dökülür, eşiği aşan istekler ise {@link #flushSlow()} ile asenkron loglanır.
+ * Başka bir placeholder'ın içinden yapılan iç içe istekler ayrıca izlenmez.
+ */
+final class RequestTracer {
+
+    /**
+     * Bir isteğin nasıl sonuçlandığı.
+     */
+    enum Outcome {
+        HIT,
+        STALE,
+        MISS,
+        LOADING,
+        ERROR,
+        DENIED,
+        UNKNOWN
+    }
+
+    private static final int MAX_PENDING_SLOW = 256;
+
+    private final Logger logger;
+    private final int sampleEvery;
+    private final long slowThresholdNanos;
+    private final AtomicReferenceArray<Trace> ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Queue<Trace> pendingSlow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSlowCount = new AtomicInteger();
+    private final AtomicInteger droppedSlow = new AtomicInteger();
+    private final ThreadLocal<Span> spans = ThreadLocal.withInitial(Span::new);
+
+    /**
+     * @param sampleEvery Her kaç istekten birinin tampona kaydedileceği (1 = tümü, 0 = hiçbiri).
+     * @param capacity Tampondaki en fazla iz sayısı; ikinin kuvvetine yuvarlanır.
+     * @param slowThresholdNanos Bu süreyi aşan istekler örneklemeden bağımsız olarak kaydedilir
+     *                           ve loglanır (0 = kapalı).
+     */
+    RequestTracer(Logger logger, int sampleEvery, int capacity, long slowThresholdNanos) {
+        this.logger = logger;
+        this.sampleEvery = Math.max(0, sampleEvery);
+        this.slowThresholdNanos = Math.max(0L, slowThresholdNanos);
+        int size = Integer.highestOneBit(Math.max(1, Math.min(capacity, 1 << 20)) * 2 - 1);
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean logsSlowRequests() {
+        return slowThresholdNanos > 0;
+    }
+
+    /**
+     * Bir isteğin izlenmesine başlar.
+     * @param viewer İsteği yapan oyuncu; yoksa null.
+     * @param target İlişkisel isteklerde hedef oyuncu, diğerlerinde null.
+     * @return İstek izlenecekse thread'in {@link Span}'i; örneklenmediyse veya iç içe bir istekse null.
+     */
+    Span begin(String expansion, OfflinePlayer viewer, OfflinePlayer target, String params, boolean relational) {
+        boolean sampled = sampleEvery == 1 || (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) == 0);
+        if (!sampled && slowThresholdNanos == 0) return null;
+
+        Span span = spans.get();
+        if (span.active) return null;
+        span.reset(expansion, viewer, target, params, relational, sampled);
+        return span;
+    }
+
+    void end(Span span) {
+        long total = System.nanoTime() - span.start;
+        span.active = false;
+        boolean slow = slowThresholdNanos > 0 && total >= slowThresholdNanos;
+        Trace trace = span.sampled || slow ? span.toTrace(total) : null;
+        span.viewer = null;
+        span.target = null;
+        if (trace == null) return;
+
+        ring.set((int) (cursor.getAndIncrement() & mask), trace);
+        if (slow) {
+            if (pendingSlowCount.incrementAndGet() <= MAX_PENDING_SLOW) {
+                pendingSlow.add(trace);
+            } else {
+                pendingSlowCount.decrementAndGet();
+                droppedSlow.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return Bu thread'de izlenen bir istek varsa onun {@link Span}'i, yoksa null.
+     */
+    Span current() {
+        Span span = spans.get();
+        return span.active ? span : null;
+    }
+
+    /**
+     * Eşiği aşan ve henüz loglanmamış istekleri loglar. İstek thread'lerinden değil, zamanlanmış
+     * asenkron bir görevden çağrılır.
+     */
+    void flushSlow() {
+        Trace trace;
+        while ((trace = pendingSlow.poll()) != null) {
+            pendingSlowCount.decrementAndGet();
+            logger.warning("Yavaş placeholder isteği: " + trace.format());
+        }
+        int dropped = droppedSlow.getAndSet(0);
+        if (dropped > 0) {
+            logger.warning(dropped + " yavaş placeholder isteği loglanamadan atlandı.");
+        }
+    }
+
+    /**
+     * @return Tampondaki izler, eskiden yeniye.
+     */
+    List<Trace> snapshot() {
+        long end = cursor.get();
+        long start = Math.max(0L, end - ring.length());
+        List<Trace> traces = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            Trace trace = ring.get((int) (i & mask));
+            if (trace != null) traces.add(trace);
+        }
+        return traces;
+    }
+
+    /**
+     * Tek bir thread'de, o an işlenen isteğin ölçümleri. Thread başına bir kez oluşturulur.
+     */
+    static final class Span {
+        boolean active;
+        boolean sampled;
+        boolean relational;
+        String expansion;
+        OfflinePlayer viewer;
+        OfflinePlayer target;
+        String params;
+        long start;
+        long dispatchNanos;
+        long cacheNanos;
+        long executeNanos;
+        long middlewareNanos;
+        Outcome outcome;
+
+        private void reset(String expansion, OfflinePlayer viewer, OfflinePlayer target, String params, boolean relational, boolean sampled) {
+            this.active = true;
+            this.sampled = sampled;
+            this.relational = relational;
+            this.expansion = expansion;
+            this.viewer = viewer;
+            this.target = target;
+            this.params = params;
+            this.dispatchNanos = 0L;
+            this.cacheNanos = 0L;
+            this.executeNanos = 0L;
+            this.middlewareNanos = 0L;
+            this.outcome = null;
+            this.start = System.nanoTime();
+        }
+
+        void dispatched() {
+            dispatchNanos = System.nanoTime() - start;
+        }
+
+        private Trace toTrace(long totalNanos) {
+            String player = viewer == null ? null : target == null ? viewer.getName() : viewer.getName() + "->" + target.getName();
+            return new Trace(System.currentTimeMillis(), expansion, player, params, relational,
+                    outcome, totalNanos, dispatchNanos, cacheNanos, executeNanos, middlewareNanos);
+        }
+    }
+
+    /**
+     * Kaydedilmiş tek bir istek.
+     */
+    static final class Trace {
+        final long timestamp;
+        final String expansion;
+        final String player;
+        final String params;
+        final boolean relational;
+        final Outcome outcome;
+        final long totalNanos;
+        final long dispatchNanos;
+        final long cacheNanos;
+        final long executeNanos;
+        final long middlewareNanos;
+
+        Trace(long timestamp, String expansion, String player, String params, boolean relational, Outcome outcome,
+              long totalNanos, long dispatchNanos, long cacheNanos, long executeNanos, long middlewareNanos) {
+            this.timestamp = timestamp;
+            this.expansion = expansion;
+            this.player = player;
+            this.params = params;
+            this.relational = relational;
+            this.outcome = outcome;
+            this.totalNanos = totalNanos;
+            this.dispatchNanos = dispatchNanos;
+            this.cacheNanos = cacheNanos;
+            this.executeNanos = executeNanos;
+            this.middlewareNanos = middlewareNanos;
+        }
+
+        String format() {
+            return new SimpleDateFormat("HH:mm:ss.SSS").format(new Date(timestamp))
+                    + " %" + (relational ? "rel_" : "") + expansion + "_" + params + "% " + (player != null ? player : "-")
+                    + " [" + (outcome != null ? outcome : "-") + "]"
+                    + " Toplam: " + BenthPAPIManager.formatNanos(totalNanos)
+                    + " | Dağıtım: " + BenthPAPIManager.formatNanos(dispatchNanos)
+                    + " | Önbellek: " + BenthPAPIManager.formatNanos(cacheNanos)
+                    + " | Çalışma: " + BenthPAPIManager.formatNanos(executeNanos)
+                    + " | Middleware: " + BenthPAPIManager.formatNanos(middlewareNanos);
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bir {@link DynamicExpansion}'ın sonuç önbelleği.
+ * <p>
+ * Kayıtlar önce sahibine (görüntüleyen oyuncunun UUID'si), sonra placeholder tanımlayıcısına,
+ * en son da argümana göre bölümlenir. Okuma yolu yalnızca mevcut nesnelerle çalışır;
+ * String birleştirme veya anahtar nesnesi oluşturmaz. Bir oyuncunun tüm bölümü tek
+ * adımda kaldırılabilir.
+ * <p>
+ * Önbellek {@link CacheLimits} ile sınırlandırılır ve taşma durumunda {@link EvictionPolicy}
+ * kararıyla kayıt tahliye eder. Süresi dolan kayıtlar {@link TimerWheel} ile TTL'lerine yakın
+ * bir anda kaldırılır. Okumalar kilitsizdir; tüm yazmalar tek bir kilit altında yapılır.
+ * Okumaların sıklık kayıtları kayıplı bir {@link ReadBuffer}'a yazılır ve aynı kilit altında
+ * boşaltılır; bir şerit dolduğunda okuyan thread kilidi yalnızca boştaysa alır.
+ * <p>
+ * Her geçersiz kılma bir nesil sayacını artırır ve yeni nesli kapsamına (tümü, tanımlayıcı veya
+ * oyuncu) işler. Yazma işlemleri hesaplamanın başladığı nesli taşır; kaydın ait olduğu
+ * kapsamlardan biri arada geçersiz kılındıysa sonuç önbelleğe yazılmaz. Böylece geçersiz
+ * kılmadan önce başlamış bir hesaplama eski değeri geri getiremez; başka bir oyuncunun veya
+ * tanımlayıcının geçersiz kılınması ise hesaplamayı etkilemez.
+ */
+final class ResultCache {
+
+    /**
+     * Görüntüleyen oyuncu olmadan yapılan istekler için sahip anahtarı.
+     */
+    static final Object ANONYMOUS = new Object();
+
+    /**
+     * {@link com.bentahsin.benthpapimanager.annotations.CacheScope#GLOBAL} kapsamındaki,
+     * tüm oyuncuların paylaştığı kayıtlar için sahip anahtarı.
+     */
+    static final Object GLOBAL = new Object();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CacheLimits limits;
+    private final TickClock clock;
+    private final EvictionPolicy policy;
+    private final TimerWheel wheel;
+    private final Map<Object, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<UUID, Partition>> relational = new ConcurrentHashMap<>();
+    /** Hedefe göre ilişkisel bölümler; yalnızca kilit altında kullanılır. */
+    private final Map<UUID, Map<UUID, Partition>> relationalByTarget = new HashMap<>();
+    /** Kapsamların son geçersiz kılındığı nesiller; yalnızca kilit altında kullanılır. */
+    private final Map<String, Long> invalidatedIdentifiers = new HashMap<>();
+    private final Map<UUID, Long> invalidatedPlayers = new HashMap<>();
+    private volatile long generation;
+    private long invalidatedAll;
+    private long retiredPlayers;
+
+    ResultCache(CacheLimits limits, TickClock clock) {
+        this.limits = limits;
+        this.clock = clock;
+        this.policy = new EvictionPolicy(limits, this::onEvicted);
+        this.wheel = new TimerWheel(clock.now());
+    }
+
+    CachedResult get(Object owner, String identifier, String argument) {
+        Partition partition = partitions.get(owner);
+        CachedResult result = partition == null ? null : partition.get(identifier, argument);
+        recordAccess(result, owner, null, identifier, argument);
+        return result;
+    }
+
+    /**
+     * Bir hesaplamaya başlamadan önce okunur ve sonucu yazılırken {@code put} metotlarına verilir.
+     * Yalnızca ait olduğu kapsamlarla karşılaştırılır; bkz. {@link #isCurrent}.
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * @param target İlişkisel kayıtlarda hedef oyuncu, diğerlerinde null.
+     * @return {@code since} neslinden beri kaydın ait olduğu kapsamlardan hiçbiri geçersiz
+     *         kılınmadıysa true.
+     */
+    boolean isCurrent(long since, Object owner, UUID target, String identifier) {
+        lock.lock();
+        try {
+            return isCurrentLocked(since, owner, target, identifier);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isCurrentLocked(long since, Object owner, UUID target, String identifier) {
+        if (since == generation) return true;
+        if (invalidatedAll > since) return false;
+        Long stamp = invalidatedIdentifiers.get(identifier);
+        if (stamp != null && stamp > since) return false;
+        return isCurrentPlayer(since, owner) && (target == null || isCurrentPlayer(since, target));
+    }
+
+    /**
+     * Oyuncu kaydı çıkışta silinmişse, silinen kayıtların en yenisiyle karşılaştırılır.
+     */
+    private boolean isCurrentPlayer(long since, Object player) {
+        if (!(player instanceof UUID)) return true;
+        Long stamp = invalidatedPlayers.get(player);
+        return (stamp != null ? stamp : retiredPlayers) <= since;
+    }
+
+    void put(long since, Object owner, String identifier, String argument, String value, long refreshAfterMillis, long expireAfterMillis) {
+        lock.lock();
+        try {
+            if (!isCurrentLocked(since, owner, null, identifier)) return;
+            Partition partition = partitions.get(owner);
+            if (partition == null) {
+                partition = new Partition(owner, null);
+                partitions.put(owner, partition);
+            }
+            insert(partition, identifier, argument, value, refreshAfterMillis, expireAfterMillis, frequencyKey(owner, null, identifier, argument));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CachedResult getRelational(UUID viewer, UUID target, String identifier, String argument) {
+        Map<UUID, Partition> targets = relational.get(viewer);
+        Partition partition = targets == null ? null : targets.get(target);
+        CachedResult result = partition == null ? null : partition.get(identifier, argument);
+        recordAccess(result, viewer, target, identifier, argument);
+        return result;
+    }
+
+    void putRelational(long since, UUID viewer, UUID target, String identifier, String argument, String value, long refreshAfterMillis, long expireAfterMillis) {
+        lock.lock();
+        try {
+            if (!isCurrentLocked(since, viewer, target, identifier)) return;
+            Partition partition = relationalPartition(viewer, target);
+            insert(partition, identifier, argument, value, refreshAfterMillis, expireAfterMillis, frequencyKey(viewer, target, identifier, argument));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bir oyuncuya ait tüm kayıtları, ilişkisel placeholder'larda hedef olarak
+     * göründüğü kayıtlar dahil, kaldırır.
+     * @param owner Oyuncunun UUID'si.
+     */
+    void evictOwner(UUID owner) {
+        lock.lock();
+        try {
+            discard(partitions.remove(owner));
+
+            Map<UUID, Partition> ownTargets = relational.remove(owner);
+            if (ownTargets != null) {
+                for (Partition partition : ownTargets.values()) {
+                    discard(partition);
+                    unlink(relationalByTarget, partition.target, owner, partition);
+                }
+            }
+            Map<UUID, Partition> viewers = relationalByTarget.remove(owner);
+            if (viewers != null) {
+                for (Partition partition : viewers.values()) {
+                    discard(partition);
+                    unlink(relational, (UUID) partition.owner, owner, partition);
+                }
+            }
+
+            Long stamp = invalidatedPlayers.remove(owner);
+            if (stamp != null) {
+                retiredPlayers = Math.max(retiredPlayers, stamp);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Eşleşen kayıtları kaldırır. Tüm parametreler null olabilir; null olan ölçüt her şeyle eşleşir.
+     * @param player Yalnızca bu oyuncunun kayıtları; ilişkisel kayıtlarda görüntüleyen veya hedef
+     *               olarak. Null ise tüm sahipler, global ve dünya bazlı kayıtlar dahil.
+     * @param identifier Yalnızca bu placeholder tanımlayıcısının kayıtları.
+     * @param argumentFilter Yalnızca argümanı bu koşulu sağlayan kayıtlar. Verilirse argümansız
+     *                       kayıtlar kaldırılmaz.
+     */
+    void invalidate(UUID player, String identifier, Predicate<String> argumentFilter) {
+        lock.lock();
+        try {
+            long stamp = ++generation;
+            List<CachedResult> matches = new ArrayList<>();
+            if (player == null) {
+                if (identifier == null) {
+                    invalidatedAll = stamp;
+                } else {
+                    invalidatedIdentifiers.put(identifier, stamp);
+                }
+                partitions.values().forEach(partition -> collect(partition, identifier, argumentFilter, matches));
+                for (Map<UUID, Partition> targets : relational.values()) {
+                    targets.values().forEach(partition -> collect(partition, identifier, argumentFilter, matches));
+                }
+            } else {
+                invalidatedPlayers.put(player, stamp);
+                collect(partitions.get(player), identifier, argumentFilter, matches);
+                Map<UUID, Partition> targets = relational.get(player);
+                if (targets != null) {
+                    targets.values().forEach(partition -> collect(partition, identifier, argumentFilter, matches));
+                }
+                Map<UUID, Partition> viewers = relationalByTarget.get(player);
+                if (viewers != null) {
+                    for (Partition partition : viewers.values()) {
+                        if (!player.equals(partition.owner)) collect(partition, identifier, argumentFilter, matches);
+                    }
+                }
+            }
+            for (CachedResult entry : matches) {
+                policy.onRemove(entry);
+                wheel.deschedule(entry);
+                detach(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void collect(Partition partition, String identifier, Predicate<String> argumentFilter, List<CachedResult> matches) {
+        if (partition == null) return;
+        Consumer<CachedResult> action = entry -> {
+            if (argumentFilter == null || (entry.argument != null && argumentFilter.test(entry.argument))) {
+                matches.add(entry);
+            }
+        };
+        if (identifier == null) {
+            partition.forEach(action);
+        } else {
+            Slot slot = partition.slots.get(identifier);
+            if (slot != null) slot.forEach(action);
+        }
+    }
+
+    /**
+     * Diske yazılmak üzere tüm kayıtları dolaşır. Kilit alınmaz; dolaşma sırasında yapılan
+     * değişiklikler görülebilir veya görülmeyebilir.
+     */
+    void forEach(Consumer<CachedResult> action) {
+        partitions.values().forEach(partition -> partition.forEach(action));
+        for (Map<UUID, Partition> targets : relational.values()) {
+            targets.values().forEach(partition -> partition.forEach(action));
+        }
+    }
+
+    /**
+     * Diskten okunan bir kaydı, aynı anahtar için daha yeni bir kayıt yoksa ekler. Süreler
+     * mutlak zaman olarak verilir.
+     * @param target İlişkisel kayıtlarda hedef oyuncu, diğerlerinde null.
+     */
+    void restore(Object owner, UUID target, String identifier, String argument, String value, long refreshAt, long expireAt) {
+        lock.lock();
+        try {
+            Partition partition;
+            if (target == null) {
+                partition = partitions.get(owner);
+                if (partition != null && partition.get(identifier, argument) != null) return;
+                if (partition == null) {
+                    partition = new Partition(owner, null);
+                    partitions.put(owner, partition);
+                }
+            } else {
+                Map<UUID, Partition> targets = relational.get((UUID) owner);
+                partition = targets == null ? null : targets.get(target);
+                if (partition != null && partition.get(identifier, argument) != null) return;
+                if (partition == null) {
+                    partition = relationalPartition((UUID) owner, target);
+                }
+            }
+
+            long now = clock.now();
+            insert(partition, identifier, argument, value, refreshAt - now, expireAt - now, frequencyKey(owner, target, identifier, argument));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bekleyen okumaları işler ve zamanlayıcı çarkını ilerletir; süresi dolan kayıtları ve
+     * boşalan bölümleri kaldırır. Maliyeti yalnızca süresi dolan kayıt sayısıyla orantılıdır.
+     */
+    void expire() {
+        lock.lock();
+        try {
+            policy.drainReads();
+            wheel.advance(clock.now(), this::onExpired);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            invalidatedAll = ++generation;
+            invalidatedIdentifiers.clear();
+            invalidatedPlayers.clear();
+            retiredPlayers = 0;
+            policy.clear();
+            wheel.clear();
+            partitions.clear();
+            relational.clear();
+            relationalByTarget.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Görüntüleyen-hedef çiftinin bölümünü döndürür; yoksa oluşturup iki indekse de ekler.
+     */
+    private Partition relationalPartition(UUID viewer, UUID target) {
+        Map<UUID, Partition> targets = relational.computeIfAbsent(viewer, k -> new ConcurrentHashMap<>());
+        Partition partition = targets.get(target);
+        if (partition == null) {
+            partition = new Partition(viewer, target);
+            targets.put(target, partition);
+            relationalByTarget.computeIfAbsent(target, k -> new HashMap<>()).put(viewer, partition);
+        }
+        return partition;
+    }
+
+    private static void unlink(Map<UUID, Map<UUID, Partition>> index, UUID first, UUID second, Partition partition) {
+        Map<UUID, Partition> inner = index.get(first);
+        if (inner != null) {
+            inner.remove(second, partition);
+            if (inner.isEmpty()) {
+                index.remove(first, inner);
+            }
+        }
+    }
+
+    private void insert(Partition partition, String identifier, String argument, String value, long refreshAfterMillis, long expireAfterMillis, int frequencyKey) {
+        Slot slot = partition.slots.get(identifier);
+        if (slot == null) {
+            slot = new Slot(partition, identifier);
+            partition.slots.put(identifier, slot);
+        }
+
+        if (argument != null && slot.argumentCount() >= limits.argumentsPerPlaceholder && slot.get(argument) == null) {
+            prune(slot);
+            return;
+        }
+
+        long now = clock.now();
+        CachedResult entry = new CachedResult(value, now + refreshAfterMillis, now + expireAfterMillis, slot, argument, limits.weigh(value, argument), frequencyKey);
+        CachedResult previous = slot.put(argument, entry);
+        if (previous != null) {
+            policy.onRemove(previous);
+            wheel.deschedule(previous);
+        }
+        wheel.schedule(entry);
+        policy.onAdd(entry);
+    }
+
+    private void recordAccess(CachedResult result, Object owner, UUID target, String identifier, String argument) {
+        boolean drain;
+        if (result != null) {
+            if (!result.referenced) result.referenced = true;
+            drain = policy.recordAccess(result.frequencyKey);
+        } else {
+            drain = policy.recordAccess(frequencyKey(owner, target, identifier, argument));
+        }
+        if (drain && lock.tryLock()) {
+            try {
+                policy.drainReads();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void onEvicted(CachedResult entry) {
+        wheel.deschedule(entry);
+        detach(entry);
+    }
+
+    private void onExpired(CachedResult entry) {
+        policy.onRemove(entry);
+        detach(entry);
+    }
+
+    /**
+     * Kaydı bulunduğu bölümden çıkarır; politika ve çark tarafı çağıran tarafından güncellenmiş olmalıdır.
+     */
+    private void detach(CachedResult entry) {
+        Slot slot = entry.slot;
+        slot.remove(entry.argument, entry);
+        prune(slot);
+    }
+
+    private void prune(Slot slot) {
+        if (!slot.isEmpty()) return;
+
+        Partition partition = slot.partition;
+        partition.slots.remove(slot.identifier, slot);
+        if (!partition.slots.isEmpty()) return;
+
+        if (partition.target == null) {
+            partitions.remove(partition.owner, partition);
+            return;
+        }
+        unlink(relational, (UUID) partition.owner, partition.target, partition);
+        unlink(relationalByTarget, partition.target, (UUID) partition.owner, partition);
+    }
+
+    private void discard(Partition partition) {
+        if (partition != null) {
+            partition.forEach(entry -> {
+                policy.onRemove(entry);
+                wheel.deschedule(entry);
+            });
+        }
+    }
+
+    private static int frequencyKey(Object owner, UUID target, String identifier, String argument) {
+        int h = owner.hashCode();
+        h = 31 * h + (target == null ? 0 : target.hashCode());
+        h = 31 * h + identifier.hashCode();
+        return 31 * h + (argument == null ? 0 : argument.hashCode());
+    }
+
+    /**
+     * Tek bir sahibe (ilişkisel kayıtlarda görüntüleyen-hedef çiftine) ait,
+     * tanımlayıcıya göre gruplanmış kayıtlar.
+     */
+    static final class Partition {
+        final Object owner;
+        final UUID target;
+        final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+        Partition(Object owner, UUID target) {
+            this.owner = owner;
+            this.target = target;
+        }
+
+        CachedResult get(String identifier, String argument) {
+            Slot slot = slots.get(identifier);
+            return slot == null ? null : slot.get(argument);
+        }
+
+        void forEach(Consumer<CachedResult> action) {
+            for (Slot slot : slots.values()) {
+                slot.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Tek bir placeholder tanımlayıcısının argümansız ve argümanlı sonuçları.
+     */
+    static final class Slot {
+        final Partition partition;
+        final String identifier;
+        private volatile CachedResult withoutArgument;
+        private volatile Map<String, CachedResult> byArgument;
+
+        Slot(Partition partition, String identifier) {
+            this.partition = partition;
+            this.identifier = identifier;
+        }
+
+        CachedResult get(String argument) {
+            if (argument == null) return withoutArgument;
+            Map<String, CachedResult> map = byArgument;
+            return map == null ? null : map.get(argument);
+        }
+
+        CachedResult put(String argument, CachedResult result) {
+            if (argument == null) {
+                CachedResult previous = withoutArgument;
+                withoutArgument = result;
+                return previous;
+            }
+            Map<String, CachedResult> map = byArgument;
+            if (map == null) {
+                map = new ConcurrentHashMap<>();
+                byArgument = map;
+            }
+            return map.put(argument, result);
+        }
+
+        void remove(String argument, CachedResult result) {
+            if (argument == null) {
+                if (withoutArgument == result) withoutArgument = null;
+                return;
+            }
+            Map<String, CachedResult> map = byArgument;
+            if (map != null) {
+                map.remove(argument, result);
+            }
+        }
+
+        int argumentCount() {
+            Map<String, CachedResult> map = byArgument;
+            return map == null ? 0 : map.size();
+        }
+
+        boolean isEmpty() {
+            return withoutArgument == null && argumentCount() == 0;
+        }
+
+        void forEach(Consumer<CachedResult> action) {
+            CachedResult current = withoutArgument;
+            if (current != null) action.accept(current);
+            Map<String, CachedResult> map = byArgument;
+            if (map != null) {
+                map.values().forEach(action);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Genişlemeler ile {@link CacheBackend} arasındaki toplayıcı.
+ * <p>
+ * İstek yolu yalnızca kuyruğa ekler; okumalar, yazmalar ve geçersiz kılmalar her tick asenkron
+ * olarak çalışan {@link #flush()} ile toplu gönderilir. Aynı anahtara art arda yapılan yazmalardan
+ * yalnızca sonuncusu gönderilir. Arka uç hatası istekleri etkilemez: okumalar bulunamamış sayılır,
+ * değer yerel olarak hesaplanır.
+ */
+final class SharedCache {
+    private static final long FAILURE_LOG_INTERVAL_MS = 60_000L;
+
+    private final CacheBackend backend;
+    private final Logger logger;
+    private final Queue<Lookup> lookups = new ConcurrentLinkedQueue<>();
+    private final Map<CacheBackend.Key, CacheBackend.Entry> writes = new ConcurrentHashMap<>();
+    private final Queue<CacheBackend.Invalidation> invalidations = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+    private long lastFailureLog;
+
+    SharedCache(CacheBackend backend, Logger logger) {
+        this.backend = backend;
+        this.logger = logger;
+    }
+
+    void subscribe(Consumer<CacheBackend.Invalidation> listener) {
+        backend.subscribe(listener);
+    }
+
+    /**
+     * Anahtarı bir sonraki toplu okumaya ekler. {@code callback}, flush thread'inde kayıtla veya
+     * kayıt bulunamadıysa null ile çağrılır.
+     */
+    void lookup(CacheBackend.Key key, Consumer<CacheBackend.Entry> callback) {
+        lookups.add(new Lookup(key, callback));
+    }
+
+    void put(CacheBackend.Key key, CacheBackend.Entry entry) {
+        writes.put(key, entry);
+    }
+
+    /**
+     * Henüz gönderilmemiş eşleşen yazmaları iptal eder ve mesajı bir sonraki flush'ta gönderir.
+     */
+    void invalidate(CacheBackend.Invalidation message) {
+        writes.keySet().removeIf(message::matches);
+        invalidations.add(message);
+    }
+
+    /**
+     * Bekleyen geçersiz kılmaları, yazmaları ve okumaları bu sırayla gönderir. Ana thread
+     * dışından çağrılmalıdır.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            CacheBackend.Invalidation message;
+            while ((message = invalidations.poll()) != null) {
+                try {
+                    backend.invalidate(message);
+                } catch (Exception e) {
+                    logFailure("geçersiz kılma", e);
+                }
+            }
+
+            if (!writes.isEmpty()) {
+                Map<CacheBackend.Key, CacheBackend.Entry> batch = new HashMap<>(writes);
+                // Kopyalandıktan sonra aynı anahtara yazılan daha yeni değerler bir sonraki tura kalır.
+                batch.forEach((key, entry) -> writes.remove(key, entry));
+                try {
+                    backend.putAll(batch);
+                } catch (Exception e) {
+                    logFailure("yazma", e);
+                }
+            }
+
+            if (!lookups.isEmpty()) {
+                List<Lookup> batch = new ArrayList<>();
+                Lookup lookup;
+                while ((lookup = lookups.poll()) != null) {
+                    batch.add(lookup);
+                }
+                Set<CacheBackend.Key> keys = new LinkedHashSet<>();
+                batch.forEach(l -> keys.add(l.key));
+
+                Map<CacheBackend.Key, CacheBackend.Entry> found;
+                try {
+                    found = backend.getAll(keys);
+                } catch (Exception e) {
+                    logFailure("okuma", e);
+                    found = Collections.emptyMap();
+                }
+                for (Lookup l : batch) {
+                    try {
+                        l.callback.accept(found.get(l.key));
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "Paylaşılan önbellek kaydı işlenirken hata oluştu (" + l.key + ")", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bekleyen işlemleri gönderir ve arka ucu kapatır.
+     */
+    void close() {
+        flush();
+        try {
+            backend.close();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Paylaşılan önbellek kapatılırken hata oluştu.", e);
+        }
+    }
+
+    /**
+     * Arka uç erişilemez olduğunda her tick log yazmamak için hataları dakikada bir loglar.
+     */
+    private void logFailure(String operation, Exception e) {
+        long now = System.currentTimeMillis();
+        if (now - lastFailureLog < FAILURE_LOG_INTERVAL_MS) return;
+        lastFailureLog = now;
+        logger.log(Level.WARNING, "Paylaşılan önbellekte " + operation + " başarısız oldu; değerler yerel olarak hesaplanacak.", e);
+    }
+
+    private static final class Lookup {
+        final CacheBackend.Key key;
+        final Consumer<CacheBackend.Entry> callback;
+
+        Lookup(CacheBackend.Key key, Consumer<CacheBackend.Entry> callback) {
+            this.key = key;
+            this.callback = callback;
+        }
+    }
+}
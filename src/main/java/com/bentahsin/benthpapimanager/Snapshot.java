@@ -0,0 +1,76 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link com.bentahsin.benthpapimanager.annotations.Refresh} ile işaretlenmiş bir placeholder'ın
+ * yayımlanmış değerleri.
+ * <p>
+ * Değiştirilemezdir; her güncelleme yeni bir nesne oluşturur ve tek bir referans yazımıyla
+ * yayımlanır. Böylece okuyucular kilit veya süre kontrolü olmadan yalnızca bir volatile
+ * referansı okur.
+ */
+final class Snapshot {
+    static final Snapshot EMPTY = new Snapshot(null, Collections.emptyMap());
+
+    private final String value;
+    private final Map<String, String> arguments;
+
+    private Snapshot(String value, Map<String, String> arguments) {
+        this.value = value;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @param argument İstenen argüman; argümansız değer için null.
+     * @return Yayımlanmış değer, henüz hesaplanmadıysa null.
+     */
+    String get(String argument) {
+        return argument == null ? value : arguments.get(argument);
+    }
+
+    /**
+     * @return Yenilenmesi gereken argümanlar.
+     */
+    Iterable<String> arguments() {
+        return arguments.keySet();
+    }
+
+    /**
+     * Verilen değeri içeren yeni bir anlık görüntü döndürür. Argüman sayısı sınıra ulaştıysa
+     * yeni argümanlar eklenmez.
+     */
+    Snapshot with(String argument, String result, int maxArguments) {
+        if (argument == null) {
+            return new Snapshot(result, arguments);
+        }
+        if (!arguments.containsKey(argument) && arguments.size() >= maxArguments) {
+            return this;
+        }
+        Map<String, String> copy = new HashMap<>(arguments);
+        copy.put(argument, result);
+        return new Snapshot(value, Collections.unmodifiableMap(copy));
+    }
+
+    /**
+     * Bir yenileme turunun tüm sonuçlarını tek bir kopyayla uygular. Tur sürerken ilk kez istenip
+     * eklenen argümanlar korunur.
+     *
+     * @param replaceValue Argümansız değerin {@code newValue} ile değiştirilip değiştirilmeyeceği.
+     * @param updates Argüman başına yeni değerler.
+     */
+    Snapshot withAll(boolean replaceValue, String newValue, Map<String, String> updates, int maxArguments) {
+        if (updates.isEmpty()) {
+            return replaceValue ? new Snapshot(newValue, arguments) : this;
+        }
+        Map<String, String> copy = new HashMap<>(arguments);
+        for (Map.Entry<String, String> update : updates.entrySet()) {
+            if (copy.containsKey(update.getKey()) || copy.size() < maxArguments) {
+                copy.put(update.getKey(), update.getValue());
+            }
+        }
+        return new Snapshot(replaceValue ? newValue : value, Collections.unmodifiableMap(copy));
+    }
+}
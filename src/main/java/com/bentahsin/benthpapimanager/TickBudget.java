@@ -0,0 +1,109 @@
+package com.bentahsin.benthpapimanager;
+
+import org.bukkit.Bukkit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Senkron placeholder metotlarının ana thread'de harcadığı süreyi denetler.
+ * <p>
+ * Ana thread'deki bir çağrı, tek başına çağrı bütçesini aşarsa veya metodun o tick'te harcadığı
+ * toplam süre tick bütçesini aşarsa bir ihlal sayılır. Bütçe içinde kalan çağrılar ihlal sayısını
+ * birer azaltır; sayı {@link #DEMOTE_AFTER}'a ulaşan metot asenkron çalıştırılmaya başlanır ve
+ * hesaplanırken eski değeri (yoksa yükleniyor metnini) gösterir. Asenkron çalışan metodun
+ * {@link #RECOVER_AFTER} ardışık çağrısı çağrı bütçesi içinde kalırsa yeniden senkron
+ * çalıştırılır. Her iki geçiş de yalnızca bir kez loglanır.
+ */
+final class TickBudget {
+    private static final int DEMOTE_AFTER = 3;
+    private static final int RECOVER_AFTER = 20;
+
+    private final Logger logger;
+    private final TickClock clock;
+    private final long perCallNanos;
+    private final long perTickNanos;
+
+    /**
+     * @param perCallNanos Tek bir çağrının bütçesi (0 = sınırsız).
+     * @param perTickNanos Bir metodun bir tick içindeki toplam bütçesi (0 = sınırsız).
+     */
+    TickBudget(Logger logger, TickClock clock, long perCallNanos, long perTickNanos) {
+        this.logger = logger;
+        this.clock = clock;
+        this.perCallNanos = perCallNanos;
+        this.perTickNanos = perTickNanos;
+    }
+
+    /**
+     * Senkron olarak tanımlanmış bir metodun çalışma süresini işler.
+     * @param expansion Logda gösterilecek grup tanımlayıcısı.
+     */
+    void record(String expansion, PlaceholderMethod pMethod, long nanos) {
+        State state = pMethod.budget;
+        if (state.demoted) {
+            recover(expansion, pMethod, state, nanos);
+            return;
+        }
+        if (!Bukkit.isPrimaryThread()) return;
+
+        long tick = clock.now();
+        if (state.tick != tick) {
+            state.tick = tick;
+            state.tickNanos = 0L;
+            state.tickExceeded = false;
+        }
+        state.tickNanos += nanos;
+
+        boolean violated = perCallNanos > 0 && nanos > perCallNanos;
+        if (perTickNanos > 0 && state.tickNanos > perTickNanos && !state.tickExceeded) {
+            state.tickExceeded = true;
+            violated = true;
+        }
+
+        if (!violated) {
+            if (state.strikes > 0) state.strikes--;
+            return;
+        }
+        if (++state.strikes < DEMOTE_AFTER) return;
+
+        state.strikes = 0;
+        state.recovered.set(0);
+        state.demoted = true;
+        logger.warning(describe(expansion, pMethod) + " tick bütçesini tekrar tekrar aştı (son çağrı: "
+                + BenthPAPIManager.formatNanos(nanos) + ", bu tick: " + BenthPAPIManager.formatNanos(state.tickNanos)
+                + "); düzelene kadar asenkron çalıştırılacak ve hesaplanırken eski değer gösterilecek.");
+    }
+
+    private void recover(String expansion, PlaceholderMethod pMethod, State state, long nanos) {
+        long limit = perCallNanos > 0 ? perCallNanos : perTickNanos;
+        if (nanos > limit) {
+            state.recovered.set(0);
+            return;
+        }
+        if (state.recovered.incrementAndGet() < RECOVER_AFTER) return;
+
+        synchronized (state) {
+            if (!state.demoted) return;
+            state.demoted = false;
+        }
+        logger.info(describe(expansion, pMethod) + " yeniden tick bütçesi içinde kalıyor; tekrar senkron çalıştırılacak.");
+    }
+
+    private static String describe(String expansion, PlaceholderMethod pMethod) {
+        return "'%" + (pMethod.relAnnotation != null ? "rel_" : "") + expansion + "_" + pMethod.identifier + "%' ("
+                + pMethod.method.getDeclaringClass().getSimpleName() + "#" + pMethod.method.getName() + ")";
+    }
+
+    /**
+     * Bir metodun bütçe durumu. Tick ve ihlal alanları yalnızca ana thread'de değiştirilir.
+     */
+    static final class State {
+        volatile boolean demoted;
+        final AtomicInteger recovered = new AtomicInteger();
+        long tick;
+        long tickNanos;
+        boolean tickExceeded;
+        int strikes;
+    }
+}
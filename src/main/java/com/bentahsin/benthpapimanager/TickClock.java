@@ -0,0 +1,19 @@
+package com.bentahsin.benthpapimanager;
+
+/**
+ * Her sunucu tick'inde bir kez güncellenen kaba saat.
+ * <p>
+ * Önbellek isabetlerinde {@link System#currentTimeMillis()} çağırmak yerine bu değer okunur;
+ * çözünürlüğü bir tick (~50 ms) kadardır, bu da TTL kontrolleri için yeterlidir.
+ */
+final class TickClock {
+    private volatile long millis = System.currentTimeMillis();
+
+    long now() {
+        return millis;
+    }
+
+    void tick() {
+        millis = System.currentTimeMillis();
+    }
+}
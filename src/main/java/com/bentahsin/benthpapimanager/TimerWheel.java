@@ -0,0 +1,142 @@
+package com.bentahsin.benthpapimanager;
+
+import java.util.function.Consumer;
+
+/**
+ * Önbellek kayıtlarının son geçerlilik zamanlarını tutan hiyerarşik zamanlayıcı çarkı.
+ * <p>
+ * Her seviye bir öncekinden daha kaba zaman aralıklarını kapsar (~1 sn, ~1 dk, ~1 sa, ~18 sa,
+ * ~3 gün). Bir kayıt süresine uygun seviyedeki kovaya bağlanır; çark ilerletildiğinde yalnızca
+ * geçilen kovalar işlenir. Süresi dolanlar tahliye edilir, henüz dolmayanlar daha ince bir
+ * seviyeye yeniden yerleştirilir. Böylece temizlik maliyeti tüm önbelleğin boyutuyla değil,
+ * gerçekten süresi dolan kayıt sayısıyla orantılıdır.
+ * <p>
+ * Tüm metotlar {@link ResultCache} kilidi altında çağrılmalıdır.
+ */
+final class TimerWheel {
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            1L << 10,
+            1L << 16,
+            1L << 22,
+            1L << 26,
+            1L << 28,
+            1L << 28
+    };
+    private static final int[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    private final CachedResult[][] wheel;
+    private long time;
+
+    TimerWheel(long now) {
+        this.time = now;
+        this.wheel = new CachedResult[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new CachedResult[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = CachedResult.sentinel();
+            }
+        }
+    }
+
+    void schedule(CachedResult entry) {
+        CachedResult sentinel = findBucket(entry.expireAt);
+        entry.wheelPrev = sentinel.wheelPrev;
+        entry.wheelNext = sentinel;
+        sentinel.wheelPrev.wheelNext = entry;
+        sentinel.wheelPrev = entry;
+    }
+
+    void deschedule(CachedResult entry) {
+        if (entry.wheelNext == null) return;
+        entry.wheelNext.wheelPrev = entry.wheelPrev;
+        entry.wheelPrev.wheelNext = entry.wheelNext;
+        entry.wheelNext = null;
+        entry.wheelPrev = null;
+    }
+
+    /**
+     * Çarkı verilen zamana ilerletir ve süresi dolan kayıtları çarktan çıkarıp bildirir.
+     * @param now Şimdiki zaman (milisaniye).
+     * @param onExpired Süresi dolan her kayıt için çağrılır.
+     */
+    void advance(long now, Consumer<CachedResult> onExpired) {
+        long previous = time;
+        if (now <= previous) return;
+        time = now;
+
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previous >>> SHIFT[i];
+            long currentTicks = now >>> SHIFT[i];
+            if (currentTicks <= previousTicks) break;
+            expire(i, previousTicks, currentTicks, onExpired);
+        }
+    }
+
+    void clear() {
+        for (CachedResult[] level : wheel) {
+            for (CachedResult sentinel : level) {
+                CachedResult node = sentinel.wheelNext;
+                while (node != sentinel) {
+                    CachedResult next = node.wheelNext;
+                    node.wheelPrev = null;
+                    node.wheelNext = null;
+                    node = next;
+                }
+                sentinel.wheelPrev = sentinel;
+                sentinel.wheelNext = sentinel;
+            }
+        }
+    }
+
+    private void expire(int level, long previousTicks, long currentTicks, Consumer<CachedResult> onExpired) {
+        CachedResult[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + currentTicks - previousTicks, buckets.length);
+        int start = (int) (previousTicks & mask);
+
+        for (int i = start; i < start + steps; i++) {
+            CachedResult sentinel = buckets[i & mask];
+            CachedResult node = sentinel.wheelNext;
+            sentinel.wheelPrev = sentinel;
+            sentinel.wheelNext = sentinel;
+
+            while (node != sentinel) {
+                CachedResult next = node.wheelNext;
+                node.wheelPrev = null;
+                node.wheelNext = null;
+
+                if (node.expireAt <= time) {
+                    onExpired.accept(node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Süresi zaten dolmuş kayıtlar, imlecin gerisindeki bir kovaya düşüp çark dönene kadar
+     * beklememeleri için bir sonraki ilerletmede işlenen kovaya yerleştirilir.
+     */
+    private CachedResult findBucket(long expireAt) {
+        expireAt = Math.max(expireAt, time + 1);
+        long duration = expireAt - time;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = expireAt >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[last][0];
+    }
+}
@@ -0,0 +1,37 @@
+package com.bentahsin.benthpapimanager.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bir {@link PlaceholderIdentifier} metodunun tüm çevrimiçi oyuncular için tek çağrıda
+ * çözümlendiğini belirtir.
+ * <p>
+ * Metot {@code Collection<Player>} (isteğe bağlı olarak ardından {@code String} argüman) almalı ve
+ * oyuncu UUID'lerinden değerlere bir {@code Map<UUID, ?>} (veya bunu tamamlayan bir
+ * {@link java.util.concurrent.CompletionStage}) döndürmelidir. Sonuçlar her oyuncunun önbellek
+ * bölümüne yazılır; böylece tekil istekler yalnızca önbellekten okunur. Haritada bulunmayan
+ * oyuncular için boş metin önbelleğe alınır.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BatchPlaceholder {
+
+    /**
+     * Toplu çözümlemenin kendiliğinden tekrarlanma aralığı. 0 ise yalnızca önbellekte
+     * bulunmayan bir değer istendiğinde çalıştırılır. Argümanlı placeholder'larda yalnızca
+     * daha önce istenmiş argümanlar yenilenir. Zamanlanmış yenileme, metot {@code async}
+     * olmasa da ana thread dışında çalıştırılır.
+     * @return Yenileme aralığı.
+     */
+    long refresh() default 0;
+
+    /**
+     * Yenileme aralığının zaman birimi. Varsayılan olarak saniyedir.
+     * @return Zaman birimi.
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
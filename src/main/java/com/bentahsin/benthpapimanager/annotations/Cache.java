@@ -26,4 +26,27 @@ public @interface Cache {
      * @return Zaman birimi.
      */
     TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * Sonucun kimler arasında paylaşılacağı. Sunucu geneli değerler için GLOBAL kullanmak,
+     * aynı değerin her oyuncu için ayrı ayrı hesaplanmasını önler.
+     * İlişkisel placeholder'larda dikkate alınmaz.
+     * @return Önbellek kapsamı.
+     */
+    CacheScope scope() default CacheScope.PER_PLAYER;
+
+    /**
+     * Sürenin hangi oranı dolduğunda değerin arka planda yenileneceği (örn. 0.8 = %80).
+     * Yenileme sırasında mevcut değer sunulmaya devam eder; böylece sık okunan değerler
+     * süre dolduğunda yeniden hesaplanmayı beklemez. 0 ise kapalıdır.
+     * @return Yenileme oranı (0 ile 1 arası).
+     */
+    double refreshAhead() default 0;
+
+    /**
+     * Süre dolduktan sonra eski değerin, arka planda yeniden hesaplanırken sunulmaya devam
+     * edeceği ek süre ({@link #unit()} biriminde). 0 ise kapalıdır.
+     * @return Eski değerin sunulabileceği ek süre.
+     */
+    long staleWhileRevalidate() default 0;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.bentahsin.benthpapimanager.annotations;
+
+/**
+ * Önbelleğe alınan bir placeholder sonucunun kimler arasında paylaşılacağını belirtir.
+ */
+public enum CacheScope {
+    /**
+     * Sonuç bir kez hesaplanır ve tüm oyuncular için aynı değer kullanılır (örn: %server_tps%).
+     */
+    GLOBAL,
+
+    /**
+     * Sonuç her oyuncu için ayrı hesaplanır ve saklanır. Varsayılan davranıştır.
+     */
+    PER_PLAYER,
+
+    /**
+     * Sonuç her dünya için bir kez hesaplanır; aynı dünyadaki oyuncular aynı değeri görür.
+     * Çevrimdışı oyuncular için yapılan istekler oyuncu bazında saklanır.
+     */
+    PER_WORLD
+}
@@ -0,0 +1,32 @@
+package com.bentahsin.benthpapimanager.annotations;
+
+import org.bukkit.event.Event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Belirtilen olaylardan biri gerçekleştiğinde placeholder'ın önbellekteki değerlerinin
+ * silinmesini sağlar. Böylece uzun önbellek süreleri kullanılırken değer değiştiği anda
+ * (örn: bir satın alma sonrası bakiye) yeniden hesaplanır.
+ * <p>
+ * Olaydan etkilenen oyuncu {@code PlayerEvent}, varlığı oyuncu olan {@code EntityEvent} veya
+ * {@code getPlayer()} metodu olan olaylardan alınır ve yalnızca o oyuncunun kayıtları silinir.
+ * Oyuncu bulunamazsa ya da önbellek kapsamı oyuncu bazlı değilse placeholder'ın tüm kayıtları
+ * silinir. {@link Refresh} ile işaretli metotlar hemen yeniden hesaplanır.
+ * <p>
+ * Olaylar {@code MONITOR} önceliğinde dinlenir; iptal edilen olaylar yok sayılır.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface InvalidateOn {
+
+    /**
+     * Önbelleği geçersiz kılacak olay sınıfları. Her sınıfın kendi {@code getHandlerList()}
+     * metodu olmalıdır.
+     * @return Olay sınıfları.
+     */
+    Class<? extends Event>[] value();
+}
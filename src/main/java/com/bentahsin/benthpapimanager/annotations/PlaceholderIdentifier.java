@@ -29,6 +29,8 @@ public @interface PlaceholderIdentifier {
     /**
      * Bu placeholder'ın asenkron olarak çalıştırılıp çalıştırılmayacağını belirtir.
      * Veritabanı veya web istekleri gibi yavaş işlemler için true yapın.
+     * {@link java.util.concurrent.CompletionStage} döndüren metotlar bu değerden bağımsız olarak
+     * asenkron kabul edilir; sonuç aşama tamamlandığında önbelleğe yazılır.
      * @return true ise asenkron, false ise senkron.
      */
     boolean async() default false;
@@ -39,6 +41,14 @@ public @interface PlaceholderIdentifier {
      */
     String onLoading() default "§eHesaplanıyor...§r";
 
+    /**
+     * Bu placeholder için aynı anda çalışabilecek en fazla asenkron görev sayısı.
+     * Sınır doluyken gelen istekler eski değeri veya yükleniyor metnini görür.
+     * 0 ise yöneticide ayarlanan varsayılan kullanılır.
+     * @return Eşzamanlılık sınırı.
+     */
+    int maxConcurrent() default 0;
+
     /**
      * Placeholder açıklaması için opsiyonel alan
      * @return Açıklama
@@ -0,0 +1,26 @@
+package com.bentahsin.benthpapimanager.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bir {@link com.bentahsin.benthpapimanager.middleware.PlaceholderMiddleware} sınıfının çıktısının
+ * yalnızca girdisine bağlı olduğunu belirtir. Bu sınıfların sonuçları girdiye göre hatırlanır;
+ * aynı girdi tekrar geldiğinde middleware çalıştırılmaz.
+ * <p>
+ * Yalnızca metin, sayı, boolean, karakter ve enum girdiler hatırlanır. Oyuncuya, zamana veya
+ * dış duruma bağlı middleware'lerde kullanılmamalıdır.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Pure {
+
+    /**
+     * Hatırlanacak en fazla farklı girdi sayısı. Sınıra ulaşıldığında hatırlanan tüm sonuçlar
+     * silinir.
+     * @return Girdi sınırı.
+     */
+    int maxEntries() default 1024;
+}
@@ -0,0 +1,33 @@
+package com.bentahsin.benthpapimanager.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bir {@link PlaceholderIdentifier} metodunun değerinin, istek beklemeden belirli aralıklarla
+ * arka planda yeniden hesaplandığını belirtir. Sıralamalar veya ekonomi toplamları gibi
+ * pahalı ama bilinen bir sıklıkla değişen, oyuncudan bağımsız değerler için uygundur.
+ * <p>
+ * Yalnızca parametresiz veya tek bir {@code String} argüman alan metotlarda kullanılabilir.
+ * İstekler yalnızca son yayımlanan değeri okur; argümanlı metotlarda daha önce istenmiş her
+ * argüman ayrı ayrı yenilenir. Bu metotlarda {@link Cache} dikkate alınmaz.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Refresh {
+
+    /**
+     * Yeniden hesaplama aralığı.
+     * @return Aralık değeri.
+     */
+    long interval();
+
+    /**
+     * Aralığın zaman birimi. Varsayılan olarak saniyedir.
+     * @return Zaman birimi.
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
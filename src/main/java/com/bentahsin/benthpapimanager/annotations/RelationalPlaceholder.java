@@ -8,6 +8,11 @@ import java.lang.annotation.Target;
 /**
  * Bir metodun PlaceholderAPI'nin Relational (İlişkisel) placeholder'ını işlediğini belirtir.
  * Bu metotlar iki Player objesi almalıdır (görüntüleyen ve hedef).
+ * <p>
+ * İkinci parametre {@code Collection<Player>} (veya {@code List<Player>}) olursa metot toplu
+ * çalışır: görüntüleyen oyuncu için tüm çevrimiçi hedefler tek çağrıda hesaplanır ve metot
+ * hedeflerin UUID'lerini sonuçlara eşleyen bir {@code Map<UUID, ?>} döndürmelidir. Bu metotlar
+ * da son parametre olarak bir {@code String} argüman alabilir.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
@@ -28,6 +33,8 @@ public @interface RelationalPlaceholder {
 
     /**
      * Bu placeholder'ın asenkron olarak çalıştırılıp çalıştırılmayacağını belirtir.
+     * {@link java.util.concurrent.CompletionStage} döndüren metotlar bu değerden bağımsız olarak
+     * asenkron kabul edilir; sonuç aşama tamamlandığında önbelleğe yazılır.
      * @return true ise asenkron, false ise senkron.
      */
     boolean async() default false;
@@ -38,6 +45,22 @@ public @interface RelationalPlaceholder {
      */
     String onLoading() default "§eHesaplanıyor...§r";
 
+    /**
+     * Bu placeholder için aynı anda çalışabilecek en fazla asenkron görev sayısı.
+     * Sınır doluyken gelen istekler eski değeri veya yükleniyor metnini görür.
+     * 0 ise yöneticide ayarlanan varsayılan kullanılır.
+     * @return Eşzamanlılık sınırı.
+     */
+    int maxConcurrent() default 0;
+
+    /**
+     * Sonucun görüntüleyen ve hedefin sırasından bağımsız olduğunu belirtir (örn: aynı takımda
+     * olmak). Bu durumda A-B ve B-A çiftleri önbellekte tek bir kaydı paylaşır ve metot çift
+     * başına bir kez çağrılır.
+     * @return true ise sonuç simetriktir.
+     */
+    boolean symmetric() default false;
+
     /**
      * Placeholder açıklaması için opsiyonel alan
      * @return Açıklama
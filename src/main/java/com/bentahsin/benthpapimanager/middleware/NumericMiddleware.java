@@ -0,0 +1,50 @@
+package com.bentahsin.benthpapimanager.middleware;
+
+/**
+ * Sayısal sonuçları metne çevirmeden işleyen middleware.
+ * <p>
+ * Placeholder metodu sayı döndürdüğünde değer ilkel tipiyle ilgili metoda verilir;
+ * {@code String.valueOf} ve yeniden ayrıştırma yapılmaz. Metot çağırıcıları dönüş değerini kutulu
+ * (örn: {@code Integer}) taşıdığı için değer burada kutusundan çıkarılır. Sayı olmayan girdiler
+ * (örn: önceki bir middleware'in çıktısı) olduğu gibi metne çevrilip döndürülür.
+ */
+public interface NumericMiddleware extends PlaceholderMiddleware {
+
+    /**
+     * {@code long}, {@code int}, {@code short} ve {@code byte} sonuçları işler.
+     * @param value Placeholder metodunun dönüş değeri.
+     * @return Formatlanmış sonuç.
+     */
+    String processLong(long value);
+
+    /**
+     * {@code double} ve {@code float} sonuçları işler.
+     * @param value Placeholder metodunun dönüş değeri.
+     * @return Formatlanmış sonuç.
+     */
+    String processDouble(double value);
+
+    /**
+     * {@code int}, {@code short} ve {@code byte} sonuçları işler. Varsayılan olarak
+     * {@link #processLong(long)}'a yönlendirir.
+     * @param value Placeholder metodunun dönüş değeri.
+     * @return Formatlanmış sonuç.
+     */
+    default String processInt(int value) {
+        return processLong(value);
+    }
+
+    @Override
+    default String process(Object input) {
+        if (input instanceof Integer || input instanceof Short || input instanceof Byte) {
+            return processInt(((Number) input).intValue());
+        }
+        if (input instanceof Long) {
+            return processLong((Long) input);
+        }
+        if (input instanceof Number) {
+            return processDouble(((Number) input).doubleValue());
+        }
+        return String.valueOf(input);
+    }
+}
@@ -0,0 +1,96 @@
+package com.bentahsin.benthpapimanager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DispatchIndexTest {
+
+    private static DispatchIndex<String> index(String... keys) {
+        Map<String, String> source = new HashMap<>();
+        for (String key : keys) {
+            source.put(key, key);
+        }
+        return DispatchIndex.of(source);
+    }
+
+    @Test
+    void longestPrefixWins() {
+        DispatchIndex<String> index = index("top", "top_kills", "top_kills_weekly");
+
+        DispatchIndex.Entry<String> entry = index.find("top_kills_weekly_5");
+        assertNotNull(entry);
+        assertEquals("top_kills_weekly", entry.value);
+        assertEquals("5", entry.argument("top_kills_weekly_5"));
+
+        entry = index.find("top_kills_3");
+        assertNotNull(entry);
+        assertEquals("top_kills", entry.value);
+        assertEquals("3", entry.argument("top_kills_3"));
+
+        entry = index.find("top_deaths");
+        assertNotNull(entry);
+        assertEquals("top", entry.value);
+        assertEquals("deaths", entry.argument("top_deaths"));
+    }
+
+    @Test
+    void exactMatchHasNoArgument() {
+        DispatchIndex<String> index = index("top", "top_kills");
+
+        DispatchIndex.Entry<String> entry = index.find("top_kills");
+        assertNotNull(entry);
+        assertEquals("top_kills", entry.value);
+        assertNull(entry.argument("top_kills"));
+    }
+
+    @Test
+    void argumentKeepsItsUnderscores() {
+        DispatchIndex<String> index = index("stat");
+
+        DispatchIndex.Entry<String> entry = index.find("stat_block_break_stone");
+        assertNotNull(entry);
+        assertEquals("block_break_stone", entry.argument("stat_block_break_stone"));
+    }
+
+    @Test
+    void prefixMustEndAtUnderscore() {
+        DispatchIndex<String> index = index("top", "top_kills");
+
+        assertNull(index.find("topkills"));
+        assertNull(index.find("to"));
+        assertEquals("top", index.find("top_killsx").value);
+    }
+
+    @Test
+    void lookupIsCaseInsensitive() {
+        DispatchIndex<String> index = index("top", "top_kills");
+
+        DispatchIndex.Entry<String> entry = index.find("TOP_Kills_Weekly");
+        assertNotNull(entry);
+        assertEquals("top_kills", entry.value);
+        assertEquals("Weekly", entry.argument("TOP_Kills_Weekly"));
+        assertEquals("top", index.find("Top").value);
+    }
+
+    @Test
+    void lookupFoldsCharactersLikeRegionMatches() {
+        DispatchIndex<String> index = index("isim", "çark");
+
+        assertEquals("isim", index.find("İSİM").value);
+        assertEquals("çark", index.find("ÇARK_1").value);
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        DispatchIndex<String> index = index();
+
+        assertNull(index.find(""));
+        assertNull(index.find("anything"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.bentahsin.benthpapimanager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvictionPolicyTest {
+
+    private final List<CachedResult> evicted = new ArrayList<>();
+
+    private EvictionPolicy policy(long perExpansion, long global, AtomicLong globalWeight) {
+        return new EvictionPolicy(new CacheLimits(false, perExpansion, global, 0, globalWeight), evicted::add);
+    }
+
+    private static CachedResult entry(int key, int weight) {
+        return new CachedResult("v" + key, Long.MAX_VALUE, Long.MAX_VALUE, null, null, weight, key);
+    }
+
+    /**
+     * {@link ResultCache} gibi erişimi kaydeder ve tamponu hemen sketch'e işler.
+     */
+    private static void access(EvictionPolicy policy, int key, int times) {
+        for (int i = 0; i < times; i++) {
+            policy.recordAccess(key);
+            policy.drainReads();
+        }
+    }
+
+    /**
+     * 100 kayıtlık sınırla pencere 1, ana bölge 99 kayıt tutar; 1..100 anahtarları eklendiğinde
+     * 100 pencerede, 1..99 sırayla deneme bölgesinde bekler.
+     */
+    private static List<CachedResult> fill(EvictionPolicy policy) {
+        List<CachedResult> entries = new ArrayList<>();
+        for (int key = 1; key <= 100; key++) {
+            CachedResult entry = entry(key, 1);
+            entries.add(entry);
+            policy.onAdd(entry);
+        }
+        return entries;
+    }
+
+    @Test
+    void coldCandidateIsRejected() {
+        EvictionPolicy policy = policy(100, 0, new AtomicLong());
+        for (int key = 1; key < 100; key++) {
+            access(policy, key, 3);
+        }
+        List<CachedResult> entries = fill(policy);
+        assertTrue(evicted.isEmpty());
+
+        policy.onAdd(entry(101, 1));
+
+        assertEquals(Arrays.asList(entries.get(99)), evicted);
+        assertEquals(EvictionPolicy.REMOVED, entries.get(99).region);
+    }
+
+    @Test
+    void hotCandidateEvictsProbationInInsertionOrder() {
+        EvictionPolicy policy = policy(100, 0, new AtomicLong());
+        access(policy, 100, 5);
+        access(policy, 101, 5);
+        List<CachedResult> entries = fill(policy);
+
+        policy.onAdd(entry(101, 1));
+        policy.onAdd(entry(102, 1));
+
+        assertEquals(Arrays.asList(entries.get(0), entries.get(1)), evicted);
+    }
+
+    @Test
+    void frequencyTieFavoursTheResident() {
+        EvictionPolicy policy = policy(100, 0, new AtomicLong());
+        List<CachedResult> entries = fill(policy);
+
+        CachedResult first = entry(101, 1);
+        policy.onAdd(first);
+        policy.onAdd(entry(102, 1));
+
+        assertEquals(Arrays.asList(entries.get(99), first), evicted);
+    }
+
+    @Test
+    void referencedEntryIsPromotedInsteadOfEvicted() {
+        EvictionPolicy policy = policy(100, 0, new AtomicLong());
+        access(policy, 100, 5);
+        List<CachedResult> entries = fill(policy);
+        entries.get(0).referenced = true;
+
+        policy.onAdd(entry(101, 1));
+
+        assertEquals(Arrays.asList(entries.get(1)), evicted);
+        assertEquals(EvictionPolicy.PROTECTED, entries.get(0).region);
+    }
+
+    @Test
+    void heavyEntriesAreEvictedUntilUnderMaximum() {
+        AtomicLong globalWeight = new AtomicLong();
+        EvictionPolicy policy = policy(100, 0, globalWeight);
+        CachedResult first = entry(1, 60);
+        CachedResult second = entry(2, 30);
+        CachedResult third = entry(3, 30);
+        access(policy, 3, 5);
+
+        policy.onAdd(first);
+        policy.onAdd(second);
+        assertTrue(evicted.isEmpty());
+        assertEquals(90, globalWeight.get());
+
+        policy.onAdd(third);
+
+        assertEquals(Arrays.asList(first), evicted);
+        assertEquals(60, globalWeight.get());
+    }
+
+    @Test
+    void globalLimitEvictsOldestFirst() {
+        AtomicLong globalWeight = new AtomicLong();
+        EvictionPolicy policy = policy(0, 10, globalWeight);
+        List<CachedResult> entries = new ArrayList<>();
+        for (int key = 1; key <= 15; key++) {
+            CachedResult entry = entry(key, 1);
+            entries.add(entry);
+            policy.onAdd(entry);
+        }
+
+        assertEquals(entries.subList(0, 5), evicted);
+        assertEquals(10, globalWeight.get());
+    }
+
+    @Test
+    void removeAndClearReleaseGlobalWeight() {
+        AtomicLong globalWeight = new AtomicLong();
+        EvictionPolicy policy = policy(0, 0, globalWeight);
+        CachedResult first = entry(1, 4);
+        CachedResult second = entry(2, 6);
+        policy.onAdd(first);
+        policy.onAdd(second);
+        assertEquals(10, globalWeight.get());
+
+        policy.onRemove(first);
+        policy.onRemove(first);
+        assertEquals(6, globalWeight.get());
+
+        policy.clear();
+        assertEquals(0, globalWeight.get());
+        assertTrue(evicted.isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.bentahsin.benthpapimanager;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void countersSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch();
+        assertEquals(0, sketch.frequency(42));
+
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(15, sketch.frequency(42));
+    }
+
+    @Test
+    void resetHalvesCounters() {
+        FrequencySketch sketch = new FrequencySketch();
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(42);
+        }
+
+        int samples = 0;
+        while (sketch.frequency(42) == 15 && samples < 10 * FrequencySketch.INITIAL_LENGTH) {
+            sketch.increment(1000 + samples++);
+        }
+        assertTrue(samples < 10 * FrequencySketch.INITIAL_LENGTH, "sketch was never reset");
+        assertEquals(7, sketch.frequency(42));
+    }
+
+    @Test
+    void growingClearsCounters() {
+        FrequencySketch sketch = new FrequencySketch();
+        sketch.increment(42);
+        sketch.increment(42);
+
+        sketch.ensureCapacity(FrequencySketch.INITIAL_LENGTH);
+        assertEquals(2, sketch.frequency(42));
+
+        sketch.ensureCapacity(FrequencySketch.INITIAL_LENGTH + 1);
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    void growthStopsAtMaximumLength() {
+        FrequencySketch sketch = new FrequencySketch();
+        sketch.ensureCapacity(Long.MAX_VALUE);
+        sketch.increment(42);
+
+        sketch.ensureCapacity(Long.MAX_VALUE);
+        assertEquals(1, sketch.frequency(42));
+    }
+}
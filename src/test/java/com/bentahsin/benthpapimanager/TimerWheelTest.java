@@ -0,0 +1,127 @@
+package com.bentahsin.benthpapimanager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    /** En ince seviyenin kova genişliği (ms). */
+    private static final long TICK = 1024;
+
+    private final List<CachedResult> expired = new ArrayList<>();
+
+    private static CachedResult entry(long expireAt) {
+        return new CachedResult("v", expireAt, expireAt, null, null, 1, 0);
+    }
+
+    @Test
+    void expiresOnTheFirstTickAfterExpireAt() {
+        TimerWheel wheel = new TimerWheel(0);
+        CachedResult entry = entry(3000);
+        wheel.schedule(entry);
+
+        wheel.advance(2999, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(3 * TICK - 1, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(3 * TICK, expired::add);
+        assertEquals(Arrays.asList(entry), expired);
+        assertNull(entry.wheelNext);
+    }
+
+    @Test
+    void entriesExpireInDeadlineOrderAcrossBuckets() {
+        TimerWheel wheel = new TimerWheel(0);
+        CachedResult late = entry(10 * TICK);
+        CachedResult early = entry(2 * TICK);
+        wheel.schedule(late);
+        wheel.schedule(early);
+
+        wheel.advance(5 * TICK, expired::add);
+        assertEquals(Arrays.asList(early), expired);
+
+        wheel.advance(11 * TICK, expired::add);
+        assertEquals(Arrays.asList(early, late), expired);
+    }
+
+    @Test
+    void cascadesFromCoarserLevels() {
+        TimerWheel wheel = new TimerWheel(0);
+        CachedResult entry = entry(5_000_000);
+        wheel.schedule(entry);
+
+        wheel.advance(1L << 22, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(76L << 16, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(4_999_999, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance((5_000_000 / TICK + 1) * TICK, expired::add);
+        assertEquals(Arrays.asList(entry), expired);
+    }
+
+    @Test
+    void largeJumpExpiresEveryLevel() {
+        TimerWheel wheel = new TimerWheel(0);
+        List<CachedResult> entries = Arrays.asList(
+                entry(500), entry(100_000), entry(10_000_000), entry(100_000_000), entry(1_000_000_000));
+        for (CachedResult entry : entries) {
+            wheel.schedule(entry);
+        }
+
+        wheel.advance(1L << 31, expired::add);
+
+        assertEquals(entries.size(), expired.size());
+        assertTrue(expired.containsAll(entries));
+    }
+
+    @Test
+    void pastDueEntryExpiresOnTheNextTick() {
+        TimerWheel wheel = new TimerWheel(10_000);
+        CachedResult entry = entry(5_000);
+        wheel.schedule(entry);
+
+        wheel.advance(10 * TICK, expired::add);
+
+        assertEquals(Arrays.asList(entry), expired);
+    }
+
+    @Test
+    void descheduledEntryNeverExpires() {
+        TimerWheel wheel = new TimerWheel(0);
+        CachedResult kept = entry(2 * TICK);
+        CachedResult removed = entry(2 * TICK);
+        wheel.schedule(kept);
+        wheel.schedule(removed);
+
+        wheel.deschedule(removed);
+        wheel.deschedule(removed);
+        assertNull(removed.wheelNext);
+
+        wheel.advance(1L << 31, expired::add);
+        assertEquals(Arrays.asList(kept), expired);
+    }
+
+    @Test
+    void clearUnlinksEverything() {
+        TimerWheel wheel = new TimerWheel(0);
+        CachedResult entry = entry(2 * TICK);
+        wheel.schedule(entry);
+
+        wheel.clear();
+        assertNull(entry.wheelNext);
+        assertNull(entry.wheelPrev);
+
+        wheel.advance(1L << 31, expired::add);
+        assertTrue(expired.isEmpty());
+    }
+}